@@ -0,0 +1,44 @@
+package com.daytonjwatson.chunkfall.perf;
+
+import com.daytonjwatson.chunkfall.util.ChunkKeyUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packing and unpacking chunk keys, the first step of every chunk set and index lookup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChunkKeyBenchmark {
+
+    private int x = -4096;
+    private int z = 1234;
+
+    @Benchmark
+    public long chunkKey() {
+        x++;
+        z--;
+        return ChunkKeyUtil.chunkKey(x, z);
+    }
+
+    @Benchmark
+    public int roundTrip() {
+        x++;
+        z--;
+        long key = ChunkKeyUtil.chunkKey(x, z);
+        return ChunkKeyUtil.getX(key) + ChunkKeyUtil.getZ(key);
+    }
+}
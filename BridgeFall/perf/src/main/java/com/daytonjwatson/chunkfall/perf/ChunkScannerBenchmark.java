@@ -0,0 +1,70 @@
+package com.daytonjwatson.chunkfall.perf;
+
+import com.daytonjwatson.chunkfall.logic.ChunkScanner;
+import com.daytonjwatson.chunkfall.logic.ProtectionRule;
+import com.daytonjwatson.chunkfall.util.MaterialSet;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The overworld and nether protection scans, as the scan workers run them on a chunk with nothing
+ * to protect (the common case). "stale" leaves the protected material in one palette with no block
+ * left, so the palette check passes and the block pass has to rule it out.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ChunkScannerBenchmark {
+
+    @Param({"OVERWORLD", "NETHER"})
+    public Terrain terrain;
+
+    @Param({"false", "true"})
+    public boolean stale;
+
+    private ChunkSnapshot snapshot;
+    private List<ProtectionRule> rules;
+    private MaterialSet preserve;
+
+    @Setup
+    public void setup() {
+        Fakes.installServer();
+        FakeChunk chunk = terrain.generate(42L, 3, -7);
+        // Same rules and preserve defaults as OverworldProtection, NetherProtection and config.yml
+        Material protectedBy = terrain == Terrain.OVERWORLD ? Material.END_PORTAL_FRAME : Material.NETHER_WART;
+        rules = List.of(ProtectionRule.present(protectedBy));
+        preserve = terrain == Terrain.OVERWORLD ? MaterialSet.EMPTY : MaterialSet.of(List.of(
+                Material.NETHER_BRICKS, Material.NETHER_BRICK_FENCE, Material.NETHER_BRICK_STAIRS, Material.NETHER_BRICK_SLAB));
+        if (stale) {
+            chunk.addStalePaletteEntry(2, protectedBy);
+        }
+        snapshot = chunk.snapshot();
+    }
+
+    @Benchmark
+    public ChunkScanner.Result scanAndPlan() {
+        return ChunkScanner.scan(snapshot, terrain.getMinY(), terrain.getMaxY(), rules, preserve);
+    }
+
+    @Benchmark
+    public ChunkScanner.Result scanOnly() {
+        return ChunkScanner.scan(snapshot, terrain.getMinY(), terrain.getMaxY(), rules, null);
+    }
+}
@@ -0,0 +1,70 @@
+package com.daytonjwatson.chunkfall.perf;
+
+import com.daytonjwatson.chunkfall.storage.ChunkState;
+import com.daytonjwatson.chunkfall.storage.ChunkStateIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chunk index reads and writes over a 512x512 chunk area (256 region pages), as done for every
+ * chunk decision. The file lives in a temporary directory and is deleted afterwards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChunkStateIndexBenchmark {
+
+    private static final int SIDE = 512;
+
+    private File directory;
+    private ChunkStateIndex index;
+    private int counter;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("chunkfall-index").toFile();
+        index = new ChunkStateIndex(new File(directory, "chunkfall-index.dat"));
+        for (int x = 0; x < SIDE; x += 2) {
+            for (int z = 0; z < SIDE; z++) {
+                index.set(x - SIDE / 2, z - SIDE / 2, ChunkState.VOIDED);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        index.close();
+        new File(directory, "chunkfall-index.dat").delete();
+        directory.delete();
+    }
+
+    @Benchmark
+    public boolean set() {
+        int chunk = counter++ & (SIDE * SIDE - 1);
+        return index.set((chunk & (SIDE - 1)) - SIDE / 2, (chunk / SIDE) - SIDE / 2, ChunkState.ISLAND);
+    }
+
+    @Benchmark
+    public boolean hasAny() {
+        // Odd multiplier spreads consecutive calls over the whole area
+        int chunk = (counter++ * 40503) & (SIDE * SIDE - 1);
+        return index.hasAny((chunk & (SIDE - 1)) - SIDE / 2, (chunk / SIDE) - SIDE / 2);
+    }
+}
@@ -0,0 +1,163 @@
+package com.daytonjwatson.chunkfall.perf;
+
+import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.logic.StoneSearch;
+import com.daytonjwatson.chunkfall.util.LatencyHistogram;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.daytonjwatson.chunkfall.perf.Simulation.millis;
+import static com.daytonjwatson.chunkfall.perf.Simulation.usedHeapAfterGc;
+
+/**
+ * Headless load test of cobblestone generators: every generator gets one mining pass each
+ * ticks-per-cobble ticks, as with CobbleGeneratorManager's timer, for some minutes of game time.
+ * Each generator is a barrel in its own loaded chunk, with an iron pickaxe, next to a stone
+ * generator that grows the mined stone back after a few ticks.
+ *
+ * CobbleGeneratorManager itself uses Paper's Location methods and is not built here, so a pass
+ * repeats its per-generator steps against a fake world: the loaded chunk and barrel checks, the
+ * pickaxe progress, and StoneSearch with the block write. Fuel, inventory, pickaxe wear, particles
+ * and the armor stand animation are left out. The numbers are main-thread milliseconds as in
+ * Simulation, and block lookups, which do not depend on the machine.
+ *
+ * Usage: CobbleSimulation [generators=5000] [minutes=10] [regrow-ticks=20]
+ */
+public final class CobbleSimulation {
+
+    private static final int BARREL_Y = 64;
+    // Same as CobbleGeneratorManager
+    private static final double PROGRESS_CAP = 10.0;
+
+    private final int generators;
+    private final int minutes;
+    private final int regrowTicks;
+
+    private final LatencyHistogram passTimes = new LatencyHistogram();
+
+    private CobbleSimulation(int generators, int minutes, int regrowTicks) {
+        this.generators = generators;
+        this.minutes = minutes;
+        this.regrowTicks = regrowTicks;
+    }
+
+    public static void main(String[] args) {
+        new CobbleSimulation(
+                args.length > 0 ? Integer.parseInt(args[0]) : 5_000,
+                args.length > 1 ? Integer.parseInt(args[1]) : 10,
+                args.length > 2 ? Integer.parseInt(args[2]) : 20).run();
+    }
+
+    private void run() {
+        Fakes.installServer();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        Plugin plugin = Fakes.plugin(new YamlConfiguration());
+        ChunkFallConfig config = new ChunkFallConfig(plugin);
+        int period = Math.max(1, config.getCobbleGeneratorTicksPerCobble());
+        int range = Math.max(1, config.getCobbleVerticalSearchRange());
+        double speed = config.getCobbleSpeedIron();
+
+        FakeWorld fake = new FakeWorld("world", -64, 320);
+        World world = fake.asWorld();
+        int side = (int) Math.ceil(Math.sqrt(generators));
+        Location[] barrels = new Location[generators];
+        for (int i = 0; i < generators; i++) {
+            int chunkX = i % side - side / 2;
+            int chunkZ = i / side - side / 2;
+            int x = (chunkX << 4) + 8;
+            int z = (chunkZ << 4) + 8;
+            fake.set(x, BARREL_Y, z, Material.BARREL);
+            fake.set(x + 1, BARREL_Y, z, Material.STONE);
+            // Players nearby keep the chunks loaded
+            world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+            barrels[i] = new Location(world, x, BARREL_Y, z);
+        }
+
+        long heapBefore = usedHeapAfterGc(memory);
+        // What CobbleGeneratorManager keeps per generator
+        Map<Location, Generator> states = new HashMap<>();
+        for (Location barrel : barrels) {
+            states.put(barrel, new Generator());
+        }
+        long heapStates = usedHeapAfterGc(memory);
+
+        // {tick, x, y, z} of stone that grows back
+        ArrayDeque<int[]> regrow = new ArrayDeque<>();
+        long ticks = minutes * 60L * 20L;
+        long lookupsBefore = fake.getBlockLookups();
+        long passes = 0;
+        long totalNanos = 0;
+        long searches = 0;
+        long emptySearches = 0;
+        long mined = 0;
+
+        for (long tick = 1; tick <= ticks; tick++) {
+            // The world's fluids, not the plugin's work
+            while (!regrow.isEmpty() && regrow.peek()[0] <= tick) {
+                int[] stone = regrow.poll();
+                fake.set(stone[1], stone[2], stone[3], Material.STONE);
+            }
+            if (tick % period != 0) {
+                continue;
+            }
+
+            long passStart = System.nanoTime();
+            for (Map.Entry<Location, Generator> entry : states.entrySet()) {
+                Location location = entry.getKey();
+                Generator state = entry.getValue();
+                if (!world.isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)
+                        || world.getBlockAt(location).getType() != Material.BARREL) {
+                    continue;
+                }
+
+                double progress = state.progress + speed;
+                while (progress >= 1.0) {
+                    searches++;
+                    Block stone = StoneSearch.findNearest(world, location.getBlockX(), location.getBlockY(), location.getBlockZ(), range);
+                    if (stone == null) {
+                        emptySearches++;
+                        break;
+                    }
+                    stone.setType(Material.AIR, false);
+                    regrow.add(new int[]{(int) (tick + regrowTicks), stone.getX(), stone.getY(), stone.getZ()});
+                    mined++;
+                    progress -= 1.0;
+                }
+                state.progress = Math.min(Math.max(0.0, progress), PROGRESS_CAP);
+            }
+            long passNanos = System.nanoTime() - passStart;
+            passTimes.record(passNanos);
+            totalNanos += passNanos;
+            passes++;
+        }
+
+        long heapAfter = usedHeapAfterGc(memory);
+
+        System.out.printf("Cobble generators: %d generators, %d min of game time, a pass every %d ticks, iron pickaxe (%.2f per pass), stone regrows after %d ticks%n",
+                generators, minutes, period, speed, regrowTicks);
+        System.out.printf("  ticks: %d, passes: %d%n", ticks, passes);
+        System.out.printf("  main thread ms/pass: p50 %.2f  p99 %.2f  max %.2f%n",
+                millis(passTimes.getPercentile(50)), millis(passTimes.getPercentile(99)), millis(passTimes.getMax()));
+        System.out.printf("  main thread ms/tick, averaged over every tick: %.2f%n", millis(totalNanos) / ticks);
+        System.out.printf("  stone searches: %d (%d found none), stone mined: %d, block lookups per pass: %.0f%n",
+                searches, emptySearches, mined, (fake.getBlockLookups() - lookupsBefore) / (double) Math.max(1, passes));
+        System.out.printf("  heap: %.1f MiB of generator state, %.1f MiB growth over the run%n",
+                (heapStates - heapBefore) / 1048576.0, (heapAfter - heapStates) / 1048576.0);
+    }
+
+    private static final class Generator {
+        double progress;
+        int bufferedFuelUses;
+    }
+}
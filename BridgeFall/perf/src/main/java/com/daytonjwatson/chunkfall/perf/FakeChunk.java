@@ -0,0 +1,215 @@
+package com.daytonjwatson.chunkfall.perf;
+
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * One chunk of block types in memory, viewed as a Bukkit {@link Chunk} (live, writable) or a
+ * {@link ChunkSnapshot} (copied). Snapshots answer palette lookups per 16-block section like the
+ * server does, including stale palette entries added with {@link #addStalePaletteEntry}.
+ * Sections are only allocated once a block in them is set, so mostly empty chunks stay small.
+ */
+public final class FakeChunk {
+
+    private final int chunkX;
+    private final int chunkZ;
+    private final int minY;
+    private final int maxY;
+    // Per 16-block section, null while all air; (y & 15) << 8 | z << 4 | x
+    private final Material[][] sections;
+    private final Set<Material>[] stalePalette;
+
+    @SuppressWarnings("unchecked")
+    public FakeChunk(int chunkX, int chunkZ, int minY, int maxY) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.minY = minY;
+        this.maxY = maxY;
+        this.sections = new Material[(maxY - minY) >> 4][];
+        this.stalePalette = new Set[sections.length];
+    }
+
+    public int getX() {
+        return chunkX;
+    }
+
+    public int getZ() {
+        return chunkZ;
+    }
+
+    public int getMinY() {
+        return minY;
+    }
+
+    public int getMaxY() {
+        return maxY;
+    }
+
+    public Material get(int x, int y, int z) {
+        Material[] section = sections[(y - minY) >> 4];
+        return section != null ? section[inSection(x, y, z)] : Material.AIR;
+    }
+
+    public void set(int x, int y, int z, Material type) {
+        int index = (y - minY) >> 4;
+        if (sections[index] == null) {
+            if (type.isAir()) {
+                return;
+            }
+            sections[index] = new Material[4096];
+            Arrays.fill(sections[index], Material.AIR);
+        }
+        sections[index][inSection(x, y, z)] = type;
+    }
+
+    /**
+     * Sections that hold any block that was set.
+     */
+    public int getAllocatedSections() {
+        int allocated = 0;
+        for (Material[] section : sections) {
+            if (section != null) {
+                allocated++;
+            }
+        }
+        return allocated;
+    }
+
+    public int count(Material type) {
+        int count = 0;
+        for (Material[] section : sections) {
+            if (section == null) {
+                count += type == Material.AIR ? 4096 : 0;
+                continue;
+            }
+            for (Material block : section) {
+                if (block == type) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Keeps {@code type} in a section's palette with no block using it, as the server does after
+     * the last such block is replaced.
+     */
+    public void addStalePaletteEntry(int section, Material type) {
+        if (stalePalette[section] == null) {
+            stalePalette[section] = EnumSet.noneOf(Material.class);
+        }
+        stalePalette[section].add(type);
+    }
+
+    public Chunk asChunk() {
+        return Fakes.proxy(Chunk.class, (method, args) -> switch (method) {
+            case "getX" -> chunkX;
+            case "getZ" -> chunkZ;
+            case "getBlock" -> block((int) args[0], (int) args[1], (int) args[2]);
+            case "getChunkSnapshot" -> snapshot();
+            case "isLoaded" -> true;
+            default -> Fakes.UNSUPPORTED;
+        });
+    }
+
+    public ChunkSnapshot snapshot() {
+        // ((y - minY) << 8) | (z << 4) | x
+        Material[] copy = new Material[sections.length << 12];
+        for (int section = 0; section < sections.length; section++) {
+            if (sections[section] != null) {
+                System.arraycopy(sections[section], 0, copy, section << 12, 4096);
+            } else {
+                Arrays.fill(copy, section << 12, (section + 1) << 12, Material.AIR);
+            }
+        }
+        @SuppressWarnings("unchecked")
+        Set<Material>[] palettes = new Set[sections.length];
+        // Emptiness counts blocks, not palette entries
+        boolean[] empty = new boolean[sections.length];
+        for (int section = 0; section < sections.length; section++) {
+            Set<Material> palette = EnumSet.noneOf(Material.class);
+            int from = section << 12;
+            for (int i = from; i < from + 4096; i++) {
+                palette.add(copy[i]);
+            }
+            empty[section] = isAirOnly(palette);
+            if (stalePalette[section] != null) {
+                palette.addAll(stalePalette[section]);
+            }
+            palettes[section] = palette;
+        }
+
+        return Fakes.proxy(ChunkSnapshot.class, (method, args) -> switch (method) {
+            case "getX" -> chunkX;
+            case "getZ" -> chunkZ;
+            case "getWorldName" -> "fake";
+            case "getBlockType" -> copy[index((int) args[0], (int) args[1], (int) args[2])];
+            case "getBlockData" -> Fakes.blockData(copy[index((int) args[0], (int) args[1], (int) args[2])]);
+            case "isSectionEmpty" -> empty[(int) args[0]];
+            case "contains" -> containsState(palettes, (BlockData) args[0]);
+            case "getHighestBlockYAt" -> highestBlockY(copy, (int) args[0], (int) args[1]);
+            default -> Fakes.UNSUPPORTED;
+        });
+    }
+
+    /**
+     * The live block at chunk-relative x and z.
+     */
+    Block block(int x, int y, int z) {
+        return Fakes.proxy(Block.class, (method, args) -> switch (method) {
+            case "getX" -> (chunkX << 4) + x;
+            case "getY" -> y;
+            case "getZ" -> (chunkZ << 4) + z;
+            case "getType" -> get(x, y, z);
+            case "getBlockData" -> Fakes.blockData(get(x, y, z));
+            case "setType" -> {
+                set(x, y, z, (Material) args[0]);
+                yield null;
+            }
+            default -> Fakes.UNSUPPORTED;
+        });
+    }
+
+    private int index(int x, int y, int z) {
+        return ((y - minY) << 8) | (z << 4) | x;
+    }
+
+    private static int inSection(int x, int y, int z) {
+        return ((y & 15) << 8) | (z << 4) | x;
+    }
+
+    private int highestBlockY(Material[] copy, int x, int z) {
+        for (int y = maxY - 1; y >= minY; y--) {
+            if (!copy[index(x, y, z)].isAir()) {
+                return y;
+            }
+        }
+        return minY;
+    }
+
+    private static boolean isAirOnly(Set<Material> palette) {
+        for (Material type : palette) {
+            if (!type.isAir()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsState(Set<Material>[] palettes, BlockData state) {
+        for (Set<Material> palette : palettes) {
+            if (palette.contains(state.getMaterial())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
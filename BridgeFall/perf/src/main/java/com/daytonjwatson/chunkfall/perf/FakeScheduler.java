@@ -0,0 +1,104 @@
+package com.daytonjwatson.chunkfall.perf;
+
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A main-thread scheduler driven by hand: each {@link #tick()} is one server tick and runs the
+ * tasks that are due. Only runTask, runTaskLater and runTaskTimer with a Runnable are faked;
+ * like the server, a task scheduled with no delay runs on the next tick.
+ */
+public final class FakeScheduler {
+
+    private final List<Task> tasks = new ArrayList<>();
+    private final BukkitScheduler scheduler;
+    private long currentTick;
+    private int nextId = 1;
+
+    FakeScheduler() {
+        this.scheduler = Fakes.proxy(BukkitScheduler.class, this::answer);
+    }
+
+    public BukkitScheduler asScheduler() {
+        return scheduler;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * True once no task is waiting to run.
+     */
+    public boolean isIdle() {
+        return tasks.isEmpty();
+    }
+
+    public void tick() {
+        currentTick++;
+        List<Task> due = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.nextRun <= currentTick) {
+                due.add(task);
+            }
+        }
+        // Tasks scheduled while these run are left for a later tick
+        for (Task task : due) {
+            if (task.cancelled) {
+                continue;
+            }
+            task.runnable.run();
+            if (task.period > 0) {
+                task.nextRun += task.period;
+            } else {
+                task.cancelled = true;
+            }
+        }
+        tasks.removeIf(task -> task.cancelled);
+    }
+
+    private Object answer(String method, Object[] args) {
+        if (args.length < 2 || !(args[1] instanceof Runnable runnable)) {
+            return Fakes.UNSUPPORTED;
+        }
+        return switch (method) {
+            case "runTask" -> schedule(runnable, 0, 0);
+            case "runTaskLater" -> schedule(runnable, (long) args[2], 0);
+            case "runTaskTimer" -> schedule(runnable, (long) args[2], (long) args[3]);
+            default -> Fakes.UNSUPPORTED;
+        };
+    }
+
+    private BukkitTask schedule(Runnable runnable, long delay, long period) {
+        Task task = new Task(nextId++, runnable, currentTick + Math.max(1L, delay), period);
+        tasks.add(task);
+        return task.handle;
+    }
+
+    private static final class Task {
+        final Runnable runnable;
+        final long period;
+        final BukkitTask handle;
+        long nextRun;
+        boolean cancelled;
+
+        Task(int id, Runnable runnable, long nextRun, long period) {
+            this.runnable = runnable;
+            this.nextRun = nextRun;
+            this.period = period;
+            this.handle = Fakes.proxy(BukkitTask.class, (method, args) -> switch (method) {
+                case "cancel" -> {
+                    cancelled = true;
+                    yield null;
+                }
+                case "isCancelled" -> cancelled;
+                case "getTaskId" -> id;
+                case "isSync" -> true;
+                default -> Fakes.UNSUPPORTED;
+            });
+        }
+    }
+}
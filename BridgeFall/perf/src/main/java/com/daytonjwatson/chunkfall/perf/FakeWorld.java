@@ -0,0 +1,180 @@
+package com.daytonjwatson.chunkfall.perf;
+
+import com.daytonjwatson.chunkfall.util.ChunkKeyUtil;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A world of {@link FakeChunk}s, viewed as a Bukkit {@link World}. A chunk is generated (empty)
+ * the first time a block in it is set or it is loaded. Like on the server, reading a block of an
+ * unloaded chunk loads it, plugin chunk tickets keep chunks loaded, and other chunks unload again
+ * once {@link #unloadUnticketed()} is called. Loading costs nothing here, so loads and block
+ * lookups are counted instead, for a run to report.
+ */
+public final class FakeWorld {
+
+    /**
+     * Told about each chunk load, like a ChunkLoadEvent listener.
+     */
+    @FunctionalInterface
+    public interface LoadListener {
+        void chunkLoaded(Chunk chunk, boolean isNewChunk);
+    }
+
+    private final String name;
+    private final UUID id = UUID.randomUUID();
+    private final int minY;
+    private final int maxY;
+    private final Map<Long, FakeChunk> chunks = new HashMap<>();
+    private final Set<Long> loaded = new HashSet<>();
+    private final Set<Long> ticketed = new HashSet<>();
+    private final World world;
+    private LoadListener loadListener = (chunk, isNewChunk) -> {
+    };
+
+    // Most lookups in a row hit the same chunk
+    private FakeChunk lastChunk;
+    private FakeChunk lastLoaded;
+    private long blockLookups;
+    private long chunkLoads;
+
+    public FakeWorld(String name, int minY, int maxY) {
+        this.name = name;
+        this.minY = minY;
+        this.maxY = maxY;
+        this.world = Fakes.proxy(World.class, this::answer);
+    }
+
+    public World asWorld() {
+        return world;
+    }
+
+    public void setLoadListener(LoadListener loadListener) {
+        this.loadListener = loadListener;
+    }
+
+    /**
+     * Reads a block without loading its chunk.
+     */
+    public Material get(int x, int y, int z) {
+        FakeChunk chunk = chunks.get(ChunkKeyUtil.chunkKey(x >> 4, z >> 4));
+        return chunk != null ? chunk.get(x & 15, y, z & 15) : Material.AIR;
+    }
+
+    /**
+     * Writes a block without loading its chunk, as world generation would.
+     */
+    public void set(int x, int y, int z, Material type) {
+        chunk(x >> 4, z >> 4).set(x & 15, y, z & 15, type);
+    }
+
+    /**
+     * Unloads every loaded chunk without a plugin ticket, as the server does shortly after a
+     * plugin's getChunkAt.
+     */
+    public void unloadUnticketed() {
+        loaded.retainAll(ticketed);
+        lastLoaded = null;
+    }
+
+    public long getBlockLookups() {
+        return blockLookups;
+    }
+
+    public long getChunkLoads() {
+        return chunkLoads;
+    }
+
+    public int count(Material type) {
+        int count = 0;
+        for (FakeChunk chunk : chunks.values()) {
+            count += chunk.count(type);
+        }
+        return count;
+    }
+
+    /**
+     * About how much heap the fake's own block storage takes (4096 compressed references per
+     * section), to tell it apart from the plugin's memory.
+     */
+    public long getStorageBytes() {
+        long sections = 0;
+        for (FakeChunk chunk : chunks.values()) {
+            sections += chunk.getAllocatedSections();
+        }
+        return sections * 4096 * 4;
+    }
+
+    public int getLoadedChunks() {
+        return loaded.size();
+    }
+
+    private Object answer(String method, Object[] args) {
+        return switch (method) {
+            case "getName" -> name;
+            case "getUID" -> id;
+            case "getMinHeight" -> minY;
+            case "getMaxHeight" -> maxY;
+            case "getBlockAt" -> {
+                if (args.length == 1 && args[0] instanceof Location location) {
+                    yield blockAt(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+                }
+                yield args.length == 3 ? blockAt((int) args[0], (int) args[1], (int) args[2]) : Fakes.UNSUPPORTED;
+            }
+            case "getChunkAt" -> args.length == 2 && args[0] instanceof Integer
+                    ? load((int) args[0], (int) args[1]).asChunk() : Fakes.UNSUPPORTED;
+            case "isChunkLoaded" -> args.length == 2 && args[0] instanceof Integer
+                    ? loaded.contains(ChunkKeyUtil.chunkKey((int) args[0], (int) args[1])) : Fakes.UNSUPPORTED;
+            case "isChunkGenerated" -> chunks.containsKey(ChunkKeyUtil.chunkKey((int) args[0], (int) args[1]));
+            case "addPluginChunkTicket" -> {
+                ticketed.add(ChunkKeyUtil.chunkKey((int) args[0], (int) args[1]));
+                load((int) args[0], (int) args[1]);
+                yield true;
+            }
+            // Limbo setup; nothing here depends on them
+            case "setTime", "setDifficulty" -> null;
+            case "setGameRule" -> true;
+            default -> Fakes.UNSUPPORTED;
+        };
+    }
+
+    private Object blockAt(int x, int y, int z) {
+        blockLookups++;
+        return load(x >> 4, z >> 4).block(x & 15, y, z & 15);
+    }
+
+    private FakeChunk load(int chunkX, int chunkZ) {
+        FakeChunk chunk = lastLoaded;
+        if (chunk != null && chunk.getX() == chunkX && chunk.getZ() == chunkZ) {
+            return chunk;
+        }
+        long key = ChunkKeyUtil.chunkKey(chunkX, chunkZ);
+        boolean isNewChunk = !chunks.containsKey(key);
+        chunk = chunk(chunkX, chunkZ);
+        if (loaded.add(key)) {
+            chunkLoads++;
+            loadListener.chunkLoaded(chunk.asChunk(), isNewChunk);
+        }
+        lastLoaded = chunk;
+        return chunk;
+    }
+
+    private FakeChunk chunk(int chunkX, int chunkZ) {
+        FakeChunk chunk = lastChunk;
+        if (chunk != null && chunk.getX() == chunkX && chunk.getZ() == chunkZ) {
+            return chunk;
+        }
+        chunk = chunks.computeIfAbsent(ChunkKeyUtil.chunkKey(chunkX, chunkZ),
+                key -> new FakeChunk(chunkX, chunkZ, minY, maxY));
+        lastChunk = chunk;
+        return chunk;
+    }
+}
@@ -0,0 +1,153 @@
+package com.daytonjwatson.chunkfall.perf;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * In-memory stand-ins for the Bukkit interfaces the benchmarked code touches. Each fake only
+ * answers the methods it names; anything else throws, so a benchmark never measures a silent default.
+ */
+public final class Fakes {
+
+    static final Object UNSUPPORTED = new Object();
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private static final Logger LOGGER = Logger.getLogger("ChunkFall-Perf");
+    private static final Map<Material, BlockData> BLOCK_DATA = new EnumMap<>(Material.class);
+    private static final FakeScheduler SCHEDULER = new FakeScheduler();
+    private static final Map<String, World> WORLDS = new LinkedHashMap<>();
+
+    private Fakes() {
+    }
+
+    /**
+     * Answers one call of a faked interface, or returns {@link #UNSUPPORTED}.
+     */
+    @FunctionalInterface
+    interface Handler {
+        Object invoke(String method, Object[] args);
+    }
+
+    static <T> T proxy(Class<T> type, Handler handler) {
+        Object proxy = Proxy.newProxyInstance(Fakes.class.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Object[] actual = args != null ? args : NO_ARGS;
+            switch (method.getName()) {
+                case "hashCode":
+                    if (actual.length == 0) {
+                        return System.identityHashCode(self);
+                    }
+                    break;
+                case "equals":
+                    if (actual.length == 1) {
+                        return self == actual[0];
+                    }
+                    break;
+                case "toString":
+                    if (actual.length == 0) {
+                        return "Fake" + type.getSimpleName();
+                    }
+                    break;
+                default:
+                    break;
+            }
+            Object result = handler.invoke(method.getName(), actual);
+            if (result == UNSUPPORTED) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not faked");
+            }
+            return result;
+        });
+        return type.cast(proxy);
+    }
+
+    /**
+     * A plugin whose getConfig() returns {@code config}, for building ChunkFallConfig.
+     */
+    public static Plugin plugin(YamlConfiguration config) {
+        return plugin(config, new File(System.getProperty("java.io.tmpdir"), "chunkfall-perf"));
+    }
+
+    /**
+     * Same, with the data folder the plugin's stores write to.
+     */
+    public static Plugin plugin(YamlConfiguration config, File dataFolder) {
+        return proxy(Plugin.class, (method, args) -> switch (method) {
+            case "getConfig" -> config;
+            case "getLogger" -> LOGGER;
+            case "getName" -> "ChunkFall";
+            case "getDataFolder" -> dataFolder;
+            default -> UNSUPPORTED;
+        });
+    }
+
+    /**
+     * Installs a server that can create block data, which {@code ProtectionRule.present} needs,
+     * and that answers for the {@link #scheduler()} and the worlds added with {@link #addWorld}.
+     * Bukkit only accepts one server per JVM, so later calls do nothing.
+     */
+    public static synchronized void installServer() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+        Bukkit.setServer(proxy(Server.class, (method, args) -> switch (method) {
+            case "getLogger" -> LOGGER;
+            case "getName", "getVersion", "getBukkitVersion" -> "fake";
+            case "createBlockData" -> args.length == 1 && args[0] instanceof Material material
+                    ? blockData(material) : UNSUPPORTED;
+            case "getScheduler" -> SCHEDULER.asScheduler();
+            case "getWorld" -> args[0] instanceof String name ? WORLDS.get(name) : world((UUID) args[0]);
+            case "getWorlds" -> List.copyOf(WORLDS.values());
+            case "broadcastMessage" -> 0;
+            default -> UNSUPPORTED;
+        }));
+    }
+
+    /**
+     * The installed server's scheduler; nothing runs until it is ticked.
+     */
+    public static FakeScheduler scheduler() {
+        return SCHEDULER;
+    }
+
+    /**
+     * Makes the world known to the installed server, so Bukkit.getWorld finds it.
+     */
+    public static synchronized void addWorld(World world) {
+        WORLDS.put(world.getName(), world);
+    }
+
+    private static synchronized World world(UUID id) {
+        for (World world : WORLDS.values()) {
+            if (world.getUID().equals(id)) {
+                return world;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One shared block state per material, with no properties.
+     */
+    public static synchronized BlockData blockData(Material material) {
+        return BLOCK_DATA.computeIfAbsent(material, type -> proxy(BlockData.class, (method, args) -> switch (method) {
+            case "getMaterial" -> type;
+            case "getAsString" -> type.getKey().toString();
+            case "clone" -> blockData(type);
+            case "matches" -> args[0] instanceof BlockData other && other.getMaterial() == type;
+            default -> UNSUPPORTED;
+        }));
+    }
+}
@@ -0,0 +1,66 @@
+package com.daytonjwatson.chunkfall.perf;
+
+import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.logic.IslandLayout;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Island chunk lookups, which run for every loaded and generated chunk. "cached" stays inside an
+ * 8x8 block of regions; "uncached" walks 64x64 regions, four times the cache, so nearly every
+ * lookup computes the island again.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IslandLayoutBenchmark {
+
+    private static final long SEED = 8_675_309L;
+
+    @Param({"legacy", "hash"})
+    public String picker;
+
+    private IslandLayout layout;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("island-picker", picker);
+        yaml.set("region-size-chunks", 64);
+        layout = new IslandLayout(new ChunkFallConfig(Fakes.plugin(yaml)));
+    }
+
+    @Benchmark
+    public long cached() {
+        int region = counter++ & 63;
+        return layout.getKeptChunk(SEED, region & 7, region >> 3);
+    }
+
+    @Benchmark
+    public long uncached() {
+        int region = counter++ & 4095;
+        return layout.getKeptChunk(SEED, region & 63, region >> 6);
+    }
+
+    @Benchmark
+    public boolean isKeptChunk() {
+        int chunk = counter++;
+        return layout.isKeptChunk(SEED, chunk & 1023, (chunk >> 10) & 1023);
+    }
+}
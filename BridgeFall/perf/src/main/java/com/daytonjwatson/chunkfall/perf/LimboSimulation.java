@@ -0,0 +1,184 @@
+package com.daytonjwatson.chunkfall.perf;
+
+import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.logic.ChunkFallStats;
+import com.daytonjwatson.chunkfall.logic.LimboManager;
+import com.daytonjwatson.chunkfall.storage.LimboStateStore;
+import com.daytonjwatson.chunkfall.storage.LimboStateStore.PendingRespawn;
+import com.daytonjwatson.chunkfall.util.LatencyHistogram;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static com.daytonjwatson.chunkfall.perf.Simulation.millis;
+import static com.daytonjwatson.chunkfall.perf.Simulation.usedHeapAfterGc;
+
+/**
+ * Headless load test of void deaths: waves of players die in the void on the same tick and
+ * respawn into Limbo on the next. The real LimboManager runs against a fake Limbo world and a
+ * hand-driven scheduler, with its anchor placement, anchor cap, pending respawn log and
+ * anchors.yml saves, until every anchor is placed and saved.
+ *
+ * VoidDeathListener needs the plugin class itself, which is not built here, so its steps are
+ * repeated: the death sets the pending respawn, and the respawn takes it and schedules
+ * sendPlayerToLimbo for the next tick. Chunk loads cost nothing here, so they are counted per
+ * tick instead; on a server each one holds up the tick.
+ *
+ * Usage: LimboSimulation [deaths=200] [waves=3]
+ */
+public final class LimboSimulation {
+
+    private static final long WAVE_GAP_TICKS = 20L * 30;
+
+    private final int deaths;
+    private final int waves;
+
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+
+    private LimboSimulation(int deaths, int waves) {
+        this.deaths = deaths;
+        this.waves = waves;
+    }
+
+    public static void main(String[] args) throws IOException {
+        new LimboSimulation(
+                args.length > 0 ? Integer.parseInt(args[0]) : 200,
+                args.length > 1 ? Integer.parseInt(args[1]) : 3).run();
+    }
+
+    private void run() throws IOException {
+        Fakes.installServer();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        FakeScheduler scheduler = Fakes.scheduler();
+
+        File directory = Files.createTempDirectory("chunkfall-limbo").toFile();
+        Plugin plugin = Fakes.plugin(new YamlConfiguration(), directory);
+        ChunkFallConfig config = new ChunkFallConfig(plugin);
+        FakeWorld limbo = new FakeWorld(config.getLimboWorldName(), -64, 320);
+        Fakes.addWorld(limbo.asWorld());
+
+        ChunkFallStats stats = new ChunkFallStats();
+        LimboManager limboManager = new LimboManager(plugin, config, stats);
+        // As LimboChunkListener does
+        limbo.setLoadListener((chunk, isNewChunk) -> {
+            if (!isNewChunk) {
+                limboManager.handleChunkLoad(chunk);
+            }
+        });
+        limboManager.init();
+        LimboStateStore states = limboManager.getStateStore();
+
+        List<Player> players = new ArrayList<>(deaths);
+        for (int i = 0; i < deaths; i++) {
+            players.add(player(i));
+        }
+
+        long heapBefore = usedHeapAfterGc(memory);
+        long storageBefore = limbo.getStorageBytes();
+        long loadsBefore = limbo.getChunkLoads();
+        long lastWaveTick = (waves - 1) * WAVE_GAP_TICKS + 2;
+        long ticks = 0;
+        long maxLoads = 0;
+
+        while (ticks < lastWaveTick || !scheduler.isIdle()) {
+            ticks++;
+            long loads = limbo.getChunkLoads();
+            long tickStart = System.nanoTime();
+
+            scheduler.tick();
+            long wave = (ticks - 1) / WAVE_GAP_TICKS;
+            long sinceWave = (ticks - 1) % WAVE_GAP_TICKS;
+            if (wave < waves && sinceWave == 0) {
+                for (Player player : players) {
+                    // A void death outside Limbo
+                    states.setPendingRespawn(player.getUniqueId(), PendingRespawn.ENTER_LIMBO);
+                }
+            } else if (wave < waves && sinceWave == 1) {
+                for (Player player : players) {
+                    respawn(plugin, limboManager, states, player);
+                }
+            }
+
+            tickTimes.record(System.nanoTime() - tickStart);
+            maxLoads = Math.max(maxLoads, limbo.getChunkLoads() - loads);
+            limbo.unloadUnticketed();
+        }
+
+        long heapAfter = usedHeapAfterGc(memory);
+        int anchorsTracked = limboManager.getAnchorCount();
+        long stopStart = System.nanoTime();
+        limboManager.stop();
+        long stopNanos = System.nanoTime() - stopStart;
+
+        LatencyHistogram entries = stats.getTimer(ChunkFallStats.Timer.LIMBO_ENTRY);
+        File anchors = new File(directory, "anchors.yml");
+        File stateLog = new File(directory, "limbo-state.log");
+
+        System.out.printf("Void deaths: %d players per wave, %d waves %d s apart, %d anchors per entry, anchor cap %d%n",
+                deaths, waves, WAVE_GAP_TICKS / 20, config.getLimboAnchorsPerEntry(), config.getLimboAnchorCap());
+        System.out.printf("  ticks: %d (%.1f s of game time at 20 TPS) until every anchor was placed and saved%n",
+                ticks, ticks / 20.0);
+        System.out.printf("  main thread ms/tick: p50 %.2f  p99 %.2f  max %.2f%n",
+                millis(tickTimes.getPercentile(50)), millis(tickTimes.getPercentile(99)), millis(tickTimes.getMax()));
+        System.out.printf("  Limbo entry ms: p50 %.3f  p99 %.3f  max %.3f%n",
+                millis(entries.getPercentile(50)), millis(entries.getPercentile(99)), millis(entries.getMax()));
+        System.out.printf("  Limbo chunk loads: %d, at most %d in one tick%n", limbo.getChunkLoads() - loadsBefore, maxLoads);
+        System.out.printf("  anchors tracked: %d, anchor blocks in Limbo: %d (dropped ones clear when their chunk loads)%n",
+                anchorsTracked, limbo.count(Material.RESPAWN_ANCHOR));
+        System.out.printf("  heap growth: %.1f MiB, of which about %.1f MiB is the fake Limbo's blocks%n",
+                (heapAfter - heapBefore) / 1048576.0, (limbo.getStorageBytes() - storageBefore) / 1048576.0);
+        System.out.printf("  shutdown save: %.1f ms, anchors.yml %.1f KiB, limbo-state.log %.1f KiB%n",
+                millis(stopNanos), anchors.length() / 1024.0, stateLog.length() / 1024.0);
+
+        anchors.delete();
+        stateLog.delete();
+        directory.delete();
+    }
+
+    /**
+     * What VoidDeathListener does on respawn after a void death.
+     */
+    private static void respawn(Plugin plugin, LimboManager limboManager, LimboStateStore states, Player player) {
+        if (states.takePendingRespawn(player.getUniqueId()) != PendingRespawn.ENTER_LIMBO) {
+            return;
+        }
+        World limbo = limboManager.getOrCreateLimboWorld();
+        if (limbo == null) {
+            return;
+        }
+        Bukkit.getScheduler().runTask(plugin, () -> limboManager.sendPlayerToLimbo(player, true));
+    }
+
+    private static Player player(int index) {
+        UUID id = UUID.randomUUID();
+        String name = "player" + index;
+        PlayerInventory inventory = Fakes.proxy(PlayerInventory.class, (method, args) -> switch (method) {
+            case "clear" -> null;
+            case "addItem" -> new HashMap<Integer, ItemStack>();
+            default -> Fakes.UNSUPPORTED;
+        });
+        return Fakes.proxy(Player.class, (method, args) -> switch (method) {
+            case "getUniqueId" -> id;
+            case "getName" -> name;
+            case "getInventory" -> inventory;
+            case "teleport" -> true;
+            case "isOnline" -> true;
+            default -> Fakes.UNSUPPORTED;
+        });
+    }
+}
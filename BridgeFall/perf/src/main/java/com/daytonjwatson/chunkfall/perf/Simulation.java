@@ -0,0 +1,221 @@
+package com.daytonjwatson.chunkfall.perf;
+
+import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.logic.ChunkScanner;
+import com.daytonjwatson.chunkfall.logic.IslandLayout;
+import com.daytonjwatson.chunkfall.logic.ProtectionRule;
+import com.daytonjwatson.chunkfall.storage.ChunkState;
+import com.daytonjwatson.chunkfall.storage.ChunkStateIndex;
+import com.daytonjwatson.chunkfall.util.LatencyHistogram;
+import com.daytonjwatson.chunkfall.util.MaterialSet;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless load test of the chunk pipeline: chunks arrive at a fixed rate per tick and go through
+ * the same steps as on a server (island check, snapshot, scan on a worker pool, budgeted void
+ * writes and index updates on the "main" thread). Ticks are not paced to 50 ms; the numbers are
+ * main-thread milliseconds per tick, so anything near 50 would be a full tick on a real server.
+ * Generating a fake chunk stands in for the server's world generation and chunk loading, so it is
+ * left out of the tick time and the budget. Like ChunkProcessor, only scan results are queued;
+ * the chunk is generated again when its result is applied.
+ *
+ * Usage: Simulation [chunks=50000] [chunks-per-tick=20] [scan-threads=2] [budget-ms=5] [terrain=OVERWORLD]
+ *
+ * CobbleSimulation and LimboSimulation cover the cobblestone generators and void deaths.
+ */
+public final class Simulation {
+
+    private static final long SEED = 8_675_309L;
+
+    private final int chunks;
+    private final int chunksPerTick;
+    private final int scanThreads;
+    private final long budgetNanos;
+    private final Terrain terrain;
+
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    private final LatencyHistogram scanTimes = new LatencyHistogram();
+
+    private Simulation(int chunks, int chunksPerTick, int scanThreads, int budgetMs, Terrain terrain) {
+        this.chunks = chunks;
+        this.chunksPerTick = chunksPerTick;
+        this.scanThreads = scanThreads;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMs);
+        this.terrain = terrain;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Simulation simulation = new Simulation(
+                args.length > 0 ? Integer.parseInt(args[0]) : 50_000,
+                args.length > 1 ? Integer.parseInt(args[1]) : 20,
+                args.length > 2 ? Integer.parseInt(args[2]) : 2,
+                args.length > 3 ? Integer.parseInt(args[3]) : 5,
+                args.length > 4 ? Terrain.valueOf(args[4]) : Terrain.OVERWORLD);
+        simulation.run();
+    }
+
+    private void run() throws IOException, InterruptedException {
+        Fakes.installServer();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        YamlConfiguration yaml = new YamlConfiguration();
+        IslandLayout islands = new IslandLayout(new ChunkFallConfig(Fakes.plugin(yaml)));
+        Material protectedBy = terrain == Terrain.OVERWORLD ? Material.END_PORTAL_FRAME : Material.NETHER_WART;
+        List<ProtectionRule> rules = List.of(ProtectionRule.present(protectedBy));
+
+        File directory = Files.createTempDirectory("chunkfall-sim").toFile();
+        File indexFile = new File(directory, "chunkfall-index.dat");
+        ChunkStateIndex index = new ChunkStateIndex(indexFile);
+
+        long heapBefore = usedHeapAfterGc(memory);
+        long heapBacklog = heapBefore;
+        ExecutorService scanPool = Executors.newFixedThreadPool(scanThreads, runnable -> {
+            Thread thread = new Thread(runnable, "ChunkFall-Scan");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ConcurrentLinkedQueue<Scanned> completed = new ConcurrentLinkedQueue<>();
+        ArrayDeque<Scanned> queue = new ArrayDeque<>();
+
+        int side = (int) Math.ceil(Math.sqrt(chunks));
+        int generated = 0;
+        int applied = 0;
+        int islandChunks = 0;
+        int inFlight = 0;
+        int maxQueue = 0;
+        long ticks = 0;
+        long wallStart = System.nanoTime();
+
+        while (applied + islandChunks < chunks) {
+            long tickStart = System.nanoTime();
+            long excluded = 0;
+
+            // New chunks: island check, then snapshot and hand off to the pool
+            for (int i = 0; i < chunksPerTick && generated < chunks; i++, generated++) {
+                int chunkX = generated % side - side / 2;
+                int chunkZ = generated / side - side / 2;
+                if (islands.isKeptChunk(SEED, chunkX, chunkZ)) {
+                    index.set(chunkX, chunkZ, ChunkState.ISLAND);
+                    islandChunks++;
+                    continue;
+                }
+                long generateStart = System.nanoTime();
+                FakeChunk fake = terrain.generate(SEED, chunkX, chunkZ);
+                excluded += System.nanoTime() - generateStart;
+                ChunkSnapshot snapshot = fake.snapshot();
+                Scanned scanned = new Scanned(chunkX, chunkZ);
+                inFlight++;
+                scanPool.execute(() -> {
+                    long scanStart = System.nanoTime();
+                    scanned.result = ChunkScanner.scan(snapshot, terrain.getMinY(), terrain.getMaxY(), rules, MaterialSet.EMPTY);
+                    scanTimes.record(System.nanoTime() - scanStart);
+                    completed.add(scanned);
+                });
+            }
+
+            // Finished scans: write within the budget, at least one per tick
+            Scanned scanned;
+            while ((scanned = completed.poll()) != null) {
+                queue.add(scanned);
+                inFlight--;
+            }
+            maxQueue = Math.max(maxQueue, queue.size());
+            long deadline = tickStart + budgetNanos;
+            while (!queue.isEmpty()) {
+                Scanned next = queue.poll();
+                if (next.result.isProtected()) {
+                    index.set(next.chunkX, next.chunkZ, ChunkState.PROTECTED);
+                } else {
+                    long generateStart = System.nanoTime();
+                    Chunk chunk = terrain.generate(SEED, next.chunkX, next.chunkZ).asChunk();
+                    excluded += System.nanoTime() - generateStart;
+                    next.result.getVoidPlan().apply(chunk);
+                    index.set(next.chunkX, next.chunkZ, ChunkState.VOIDED);
+                }
+                applied++;
+                if (System.nanoTime() - excluded >= deadline) {
+                    break;
+                }
+            }
+
+            tickTimes.record(System.nanoTime() - tickStart - excluded);
+            ticks++;
+            if (generated == chunks && heapBacklog == heapBefore) {
+                // Every chunk has arrived; this is as long as the backlog gets
+                heapBacklog = usedHeapAfterGc(memory);
+            }
+            if (queue.isEmpty() && inFlight > 0 && generated == chunks) {
+                // Only waiting on workers; do not count idle spinning as ticks
+                Thread.sleep(1);
+            }
+        }
+
+        long wallNanos = System.nanoTime() - wallStart;
+        scanPool.shutdown();
+        scanPool.awaitTermination(1, TimeUnit.MINUTES);
+        index.flush();
+        long heapAfter = usedHeapAfterGc(memory);
+
+        System.out.printf("Chunk pipeline: %d chunks (%d islands), %d per tick, %d scan threads, %d ms budget, %s%n",
+                chunks, islandChunks, chunksPerTick, scanThreads, TimeUnit.NANOSECONDS.toMillis(budgetNanos), terrain);
+        System.out.printf("  ticks: %d (%.1f s of game time at 20 TPS), wall time %.1f s%n",
+                ticks, ticks / 20.0, wallNanos / 1e9);
+        System.out.printf("  main thread ms/tick: p50 %.2f  p99 %.2f  max %.2f%n",
+                millis(tickTimes.getPercentile(50)), millis(tickTimes.getPercentile(99)), millis(tickTimes.getMax()));
+        System.out.printf("  scan ms/chunk (worker): p50 %.2f  p99 %.2f%n",
+                millis(scanTimes.getPercentile(50)), millis(scanTimes.getPercentile(99)));
+        System.out.printf("  longest write queue: %d chunks%n", maxQueue);
+        System.out.printf("  heap growth: %.1f MiB with every chunk arrived, %.1f MiB after the queue drained%n",
+                (heapBacklog - heapBefore) / 1048576.0, (heapAfter - heapBefore) / 1048576.0);
+        System.out.printf("  chunk index file: %.1f MiB%n", indexFile.length() / 1048576.0);
+
+        index.close();
+        indexFile.delete();
+        directory.delete();
+    }
+
+    static long usedHeapAfterGc(MemoryMXBean memory) {
+        // One collection can leave garbage behind; collect until the figure stops dropping
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            long now = memory.getHeapMemoryUsage().getUsed();
+            if (now >= used) {
+                break;
+            }
+            used = now;
+        }
+        return used;
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Scanned {
+        final int chunkX;
+        final int chunkZ;
+        // Written by the scan thread, read after the queue hand-off
+        volatile ChunkScanner.Result result;
+
+        Scanned(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.daytonjwatson.chunkfall.perf;
+
+import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.logic.StoneSearch;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The block search of CobbleGeneratorManager.mineNearestStoneInChunk, with the default
+ * vertical-search-range. The rest of that method is a few inventory slot reads. ADJACENT is a
+ * stone generator next to the barrel, BELOW is stone 32 layers down, and NONE is a chunk that was
+ * mined out, where every layer in range is read. Each block lookup makes a Block object, as on
+ * the server, so the gc profiler counts those too.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StoneSearchBenchmark {
+
+    private static final int BARREL_X = 8;
+    private static final int BARREL_Y = 64;
+    private static final int BARREL_Z = 8;
+
+    public enum Stone {
+        ADJACENT, BELOW, NONE
+    }
+
+    @Param({"ADJACENT", "BELOW", "NONE"})
+    public Stone stone;
+
+    private World world;
+    private int verticalRange;
+
+    @Setup
+    public void setup() {
+        Fakes.installServer();
+        verticalRange = Math.max(1, new ChunkFallConfig(Fakes.plugin(new YamlConfiguration())).getCobbleVerticalSearchRange());
+        FakeWorld fake = new FakeWorld("world", -64, 320);
+        fake.set(BARREL_X, BARREL_Y, BARREL_Z, Material.BARREL);
+        switch (stone) {
+            case ADJACENT -> fake.set(BARREL_X + 1, BARREL_Y, BARREL_Z, Material.STONE);
+            case BELOW -> fake.set(BARREL_X, BARREL_Y - 32, BARREL_Z, Material.STONE);
+            case NONE -> {
+            }
+        }
+        world = fake.asWorld();
+    }
+
+    @Benchmark
+    public Block findNearest() {
+        return StoneSearch.findNearest(world, BARREL_X, BARREL_Y, BARREL_Z, verticalRange);
+    }
+}
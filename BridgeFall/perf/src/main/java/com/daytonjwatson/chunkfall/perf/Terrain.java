@@ -0,0 +1,111 @@
+package com.daytonjwatson.chunkfall.perf;
+
+import org.bukkit.Material;
+
+import java.util.SplittableRandom;
+
+/**
+ * Rough stand-ins for generated chunks, with block counts and section layouts close enough to
+ * vanilla that scanning and voiding them does comparable work. Deterministic per seed and chunk.
+ */
+public enum Terrain {
+
+    /** Bedrock, deepslate, stone with ores, a dirt and grass surface around y 64, some plants on top. */
+    OVERWORLD(-64, 320) {
+        @Override
+        void fill(FakeChunk chunk, SplittableRandom random) {
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    int surface = 60 + random.nextInt(9);
+                    for (int y = minY; y <= surface; y++) {
+                        chunk.set(x, y, z, overworldBlock(y, surface, random));
+                    }
+                    int plant = random.nextInt(16);
+                    if (plant == 0) {
+                        chunk.set(x, surface + 1, z, Material.SHORT_GRASS);
+                    } else if (plant == 1) {
+                        chunk.set(x, surface + 1, z, Material.POPPY);
+                    }
+                }
+            }
+        }
+    },
+
+    /** Netherrack with lava lakes and soul sand, bedrock floor and roof. */
+    NETHER(0, 256) {
+        @Override
+        void fill(FakeChunk chunk, SplittableRandom random) {
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int y = minY; y < 128; y++) {
+                        chunk.set(x, y, z, netherBlock(y, random));
+                    }
+                }
+            }
+        }
+    };
+
+    final int minY;
+    final int maxY;
+
+    Terrain(int minY, int maxY) {
+        this.minY = minY;
+        this.maxY = maxY;
+    }
+
+    public int getMinY() {
+        return minY;
+    }
+
+    public int getMaxY() {
+        return maxY;
+    }
+
+    public FakeChunk generate(long seed, int chunkX, int chunkZ) {
+        FakeChunk chunk = new FakeChunk(chunkX, chunkZ, minY, maxY);
+        fill(chunk, new SplittableRandom(seed ^ (chunkX * 341873128712L) ^ (chunkZ * 132897987541L)));
+        return chunk;
+    }
+
+    abstract void fill(FakeChunk chunk, SplittableRandom random);
+
+    private static Material overworldBlock(int y, int surface, SplittableRandom random) {
+        if (y < -60) {
+            return Material.BEDROCK;
+        }
+        if (y == surface) {
+            return Material.GRASS_BLOCK;
+        }
+        if (y > surface - 4) {
+            return Material.DIRT;
+        }
+        int roll = random.nextInt(200);
+        if (roll == 0) {
+            return y < 0 ? Material.DEEPSLATE_DIAMOND_ORE : Material.COAL_ORE;
+        }
+        if (roll < 3) {
+            return y < 0 ? Material.DEEPSLATE_IRON_ORE : Material.IRON_ORE;
+        }
+        if (roll < 8) {
+            return Material.CAVE_AIR;
+        }
+        return y < 0 ? Material.DEEPSLATE : Material.STONE;
+    }
+
+    private static Material netherBlock(int y, SplittableRandom random) {
+        if (y < 4 || y > 123) {
+            return Material.BEDROCK;
+        }
+        if (y < 32) {
+            return Material.LAVA;
+        }
+        int roll = random.nextInt(100);
+        if (roll < 30) {
+            return Material.AIR;
+        }
+        if (roll < 35) {
+            return Material.SOUL_SAND;
+        }
+        return Material.NETHERRACK;
+    }
+}
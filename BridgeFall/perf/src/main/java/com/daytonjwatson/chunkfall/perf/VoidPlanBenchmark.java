@@ -0,0 +1,55 @@
+package com.daytonjwatson.chunkfall.perf;
+
+import com.daytonjwatson.chunkfall.logic.ChunkScanner;
+import com.daytonjwatson.chunkfall.util.MaterialSet;
+import com.daytonjwatson.chunkfall.util.VoidPlan;
+import org.bukkit.Chunk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a planned chunk to air on the main thread (what makeChunkVoid used to do in one pass).
+ * The fake chunk's blocks are proxies, so absolute numbers include some reflection overhead;
+ * compare runs against each other, not against a live server.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class VoidPlanBenchmark {
+
+    @Param({"OVERWORLD", "NETHER"})
+    public Terrain terrain;
+
+    private Chunk chunk;
+    private VoidPlan plan;
+
+    @Setup
+    public void setup() {
+        FakeChunk fake = terrain.generate(42L, 3, -7);
+        plan = ChunkScanner.scan(fake.snapshot(), terrain.getMinY(), terrain.getMaxY(), List.of(), MaterialSet.EMPTY)
+                .getVoidPlan();
+        // Writing air over air costs the same, so the chunk is not refilled between calls
+        chunk = fake.asChunk();
+    }
+
+    @Benchmark
+    public VoidPlan apply() {
+        plan.apply(chunk);
+        return plan;
+    }
+}
@@ -0,0 +1,107 @@
+package com.daytonjwatson.chunkfall.logic;
+
+import com.daytonjwatson.chunkfall.perf.FakeChunk;
+import com.daytonjwatson.chunkfall.perf.Fakes;
+import com.daytonjwatson.chunkfall.util.MaterialSet;
+import org.bukkit.Material;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkScannerTest {
+
+    private static final int MIN_Y = -64;
+    private static final int MAX_Y = 320;
+
+    @BeforeAll
+    static void installServer() {
+        // ProtectionRule.present creates block data
+        Fakes.installServer();
+    }
+
+    private static FakeChunk ground() {
+        FakeChunk chunk = new FakeChunk(0, 0, MIN_Y, MAX_Y);
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                for (int y = MIN_Y; y < 64; y++) {
+                    chunk.set(x, y, z, y == MIN_Y ? Material.BEDROCK : Material.STONE);
+                }
+            }
+        }
+        return chunk;
+    }
+
+    private static ChunkScanner.Result scan(FakeChunk chunk, List<ProtectionRule> rules, MaterialSet preserve) {
+        return ChunkScanner.scan(chunk.snapshot(), MIN_Y, MAX_Y, rules, preserve);
+    }
+
+    @Test
+    void voidsEveryBlockIncludingOnesFarAboveTheSurface() {
+        FakeChunk chunk = ground();
+        chunk.set(4, 64, 4, Material.POPPY);
+        // Alone in an otherwise empty section, far above anything that blocks motion
+        chunk.set(9, 250, 2, Material.TORCH);
+        chunk.set(15, 319, 15, Material.STONE);
+
+        ChunkScanner.Result result = scan(chunk, List.of(), MaterialSet.EMPTY);
+        assertEquals(16 * 16 * 128 + 3, result.getVoidPlan().size());
+
+        result.getVoidPlan().apply(chunk.asChunk());
+        for (Material type : new Material[]{Material.STONE, Material.BEDROCK, Material.POPPY, Material.TORCH}) {
+            assertEquals(0, chunk.count(type), type.name());
+        }
+    }
+
+    @Test
+    void preservedBlocksStay() {
+        FakeChunk chunk = ground();
+        chunk.set(1, 70, 1, Material.NETHER_BRICKS);
+
+        ChunkScanner.Result result = scan(chunk, List.of(), MaterialSet.of(List.of(Material.NETHER_BRICKS)));
+        result.getVoidPlan().apply(chunk.asChunk());
+        assertEquals(Material.NETHER_BRICKS, chunk.get(1, 70, 1));
+        assertEquals(0, chunk.count(Material.STONE));
+    }
+
+    @Test
+    void presentRuleProtectsWhenTheBlockExists() {
+        FakeChunk chunk = ground();
+        chunk.set(7, 20, 7, Material.END_PORTAL_FRAME);
+
+        ChunkScanner.Result result = scan(chunk, List.of(ProtectionRule.present(Material.END_PORTAL_FRAME)), MaterialSet.EMPTY);
+        assertTrue(result.isProtected());
+        assertNull(result.getVoidPlan());
+    }
+
+    @Test
+    void stalePaletteEntryDoesNotProtect() {
+        FakeChunk chunk = ground();
+        // Section 5 (y 16..31) still lists the frame, but no block is one
+        chunk.addStalePaletteEntry(5, Material.END_PORTAL_FRAME);
+
+        ChunkScanner.Result result = scan(chunk, List.of(ProtectionRule.present(Material.END_PORTAL_FRAME)), MaterialSet.EMPTY);
+        assertFalse(result.isProtected());
+        assertNotNull(result.getVoidPlan());
+        assertEquals(16 * 16 * 128, result.getVoidPlan().size());
+    }
+
+    @Test
+    void anyRuleProtects() {
+        FakeChunk chunk = ground();
+        chunk.set(0, 100, 0, Material.NETHER_WART);
+
+        List<ProtectionRule> rules = List.of(
+                ProtectionRule.present(Material.END_PORTAL_FRAME), ProtectionRule.present(Material.NETHER_WART));
+        assertTrue(scan(chunk, rules, MaterialSet.EMPTY).isProtected());
+
+        chunk.set(0, 100, 0, Material.AIR);
+        assertFalse(scan(chunk, rules, MaterialSet.EMPTY).isProtected());
+    }
+}
@@ -0,0 +1,97 @@
+package com.daytonjwatson.chunkfall.logic;
+
+import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.perf.Fakes;
+import com.daytonjwatson.chunkfall.util.ChunkKeyUtil;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IslandLayoutTest {
+
+    private static final long SEED = -4_172_144_997_902_289_642L;
+
+    private static IslandLayout layout(String picker, int regionSize) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("island-picker", picker);
+        yaml.set("region-size-chunks", regionSize);
+        return new IslandLayout(new ChunkFallConfig(Fakes.plugin(yaml)));
+    }
+
+    @Test
+    void regionZeroKeepsChunkZero() {
+        for (String picker : new String[]{"legacy", "hash"}) {
+            assertEquals(ChunkKeyUtil.chunkKey(0, 0), layout(picker, 64).getKeptChunk(SEED, 0, 0));
+        }
+    }
+
+    @Test
+    void legacyPickerMatchesJavaUtilRandom() {
+        // The layout existing worlds were generated with
+        IslandLayout layout = layout("legacy", 48);
+        for (int regionX = -20; regionX <= 20; regionX++) {
+            for (int regionZ = -20; regionZ <= 20; regionZ++) {
+                if (regionX == 0 && regionZ == 0) {
+                    continue;
+                }
+                Random random = new Random(SEED ^ (regionX * 341873128712L) ^ (regionZ * 132897987541L));
+                long expected = ChunkKeyUtil.chunkKey(regionX * 48 + random.nextInt(48), regionZ * 48 + random.nextInt(48));
+                assertEquals(expected, layout.getKeptChunk(SEED, regionX, regionZ), regionX + "," + regionZ);
+            }
+        }
+    }
+
+    @Test
+    void keptChunkLiesInItsRegionAndIsTheOnlyOne() {
+        for (String picker : new String[]{"legacy", "hash"}) {
+            IslandLayout layout = layout(picker, 8);
+            for (int regionX = -6; regionX <= 6; regionX++) {
+                for (int regionZ = -6; regionZ <= 6; regionZ++) {
+                    long kept = layout.getKeptChunk(SEED, regionX, regionZ);
+                    assertEquals(regionX, layout.regionOf(ChunkKeyUtil.getX(kept)));
+                    assertEquals(regionZ, layout.regionOf(ChunkKeyUtil.getZ(kept)));
+
+                    int keptCount = 0;
+                    for (int x = regionX * 8; x < regionX * 8 + 8; x++) {
+                        for (int z = regionZ * 8; z < regionZ * 8 + 8; z++) {
+                            if (layout.isKeptChunk(SEED, x, z)) {
+                                keptCount++;
+                            }
+                        }
+                    }
+                    assertEquals(1, keptCount, picker + " " + regionX + "," + regionZ);
+                }
+            }
+        }
+    }
+
+    @Test
+    void cachedLookupsMatchFreshComputation() {
+        // Far more regions than cache slots, visited twice, so slots are overwritten and reused
+        IslandLayout layout = layout("hash", 64);
+        for (int pass = 0; pass < 2; pass++) {
+            for (int region = 0; region < 8192; region++) {
+                int regionX = (region & 127) - 64;
+                int regionZ = (region >> 7) - 32;
+                assertEquals(layout.computeKeptChunk(SEED, regionX, regionZ), layout.getKeptChunk(SEED, regionX, regionZ));
+            }
+        }
+        assertTrue(layout.getKeptChunk(SEED + 1, 5, 5) == layout.computeKeptChunk(SEED + 1, 5, 5));
+    }
+
+    @Test
+    void interleavedSeedsAreAnsweredForTheirOwnSeed() {
+        // More seeds than seed caches, so caches are replaced while others stay in use
+        IslandLayout layout = layout("legacy", 64);
+        for (int region = 0; region < 512; region++) {
+            long seed = SEED + region % 6;
+            int regionX = (region & 15) - 8;
+            int regionZ = (region >> 4) - 16;
+            assertEquals(layout.computeKeptChunk(seed, regionX, regionZ), layout.getKeptChunk(seed, regionX, regionZ));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.daytonjwatson.chunkfall.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkStateIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void statesAreIndependentPerChunk() throws IOException {
+        ChunkStateIndex index = new ChunkStateIndex(dir.resolve("index.dat").toFile());
+        try {
+            assertTrue(index.set(3, 4, ChunkState.VOIDED));
+            assertTrue(index.set(3, 5, ChunkState.PROTECTED));
+
+            assertTrue(index.has(3, 4, ChunkState.VOIDED));
+            assertTrue(index.isVoided(3, 4));
+            assertFalse(index.has(3, 4, ChunkState.ISLAND));
+            assertTrue(index.has(3, 5, ChunkState.PROTECTED));
+            assertFalse(index.isVoided(3, 5));
+            assertTrue(index.hasAny(3, 5));
+            assertFalse(index.hasAny(4, 4));
+        } finally {
+            index.close();
+        }
+    }
+
+    @Test
+    void regionEdgesAndNegativeCoordinatesDoNotOverlap() throws IOException {
+        ChunkStateIndex index = new ChunkStateIndex(dir.resolve("index.dat").toFile());
+        try {
+            int[] edges = {-33, -32, -1, 0, 31, 32};
+            for (int x : edges) {
+                index.set(x, -x, ChunkState.ISLAND);
+            }
+            for (int x : edges) {
+                for (int z : edges) {
+                    assertTrue(index.has(x, z, ChunkState.ISLAND) == (z == -x), x + "," + z);
+                }
+            }
+        } finally {
+            index.close();
+        }
+    }
+
+    @Test
+    void survivesReopen() throws IOException {
+        File file = dir.resolve("index.dat").toFile();
+        ChunkStateIndex index = new ChunkStateIndex(file);
+        for (int i = 0; i < 5000; i++) {
+            index.set(i * 7 - 10_000, i * 13 - 20_000, ChunkState.VOIDED);
+        }
+        index.flush();
+        index.close();
+
+        ChunkStateIndex reopened = new ChunkStateIndex(file);
+        try {
+            for (int i = 0; i < 5000; i++) {
+                assertTrue(reopened.isVoided(i * 7 - 10_000, i * 13 - 20_000));
+            }
+            assertFalse(reopened.hasAny(1, 1));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void rejectsFilesThatAreNotAnIndex() throws IOException {
+        File file = dir.resolve("index.dat").toFile();
+        Files.write(file.toPath(), new byte[64]);
+        assertThrows(IOException.class, () -> new ChunkStateIndex(file));
+    }
+}
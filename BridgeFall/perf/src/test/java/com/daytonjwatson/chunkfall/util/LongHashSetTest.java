@@ -0,0 +1,75 @@
+package com.daytonjwatson.chunkfall.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashSetTest {
+
+    @Test
+    void addContainsRemove() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(0L));
+        assertTrue(set.add(-1L));
+        assertTrue(set.add(Long.MAX_VALUE));
+        assertFalse(set.add(0L));
+        assertEquals(3, set.size());
+
+        assertTrue(set.contains(-1L));
+        assertTrue(set.remove(-1L));
+        assertFalse(set.remove(-1L));
+        assertFalse(set.contains(-1L));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void emptyMarkerCannotBeStored() {
+        assertThrows(IllegalArgumentException.class, () -> new LongHashSet().add(Long.MIN_VALUE));
+    }
+
+    @Test
+    void matchesHashSetUnderRandomOperations() {
+        // Small key range so removals hit long probe clusters and exercise the backward shift
+        Random random = new Random(1);
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            long value = ChunkKeyUtil.chunkKey(random.nextInt(200) - 100, random.nextInt(200) - 100);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+        assertEquals(expected.size(), set.size());
+        for (long value : expected) {
+            assertTrue(set.contains(value));
+        }
+
+        Set<Long> visited = new HashSet<>();
+        set.forEach(visited::add);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void removeIfKeepsTheRest() {
+        LongHashSet set = new LongHashSet();
+        for (long i = 0; i < 10_000; i++) {
+            set.add(i);
+        }
+        assertEquals(9_000, set.removeIf(value -> value % 10 != 0));
+        assertEquals(1_000, set.size());
+        for (long i = 0; i < 10_000; i++) {
+            assertEquals(i % 10 == 0, set.contains(i));
+        }
+        assertEquals(0, set.removeIf(value -> false));
+    }
+}
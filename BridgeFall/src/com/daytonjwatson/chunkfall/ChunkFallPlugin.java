@@ -2,24 +2,39 @@ package com.daytonjwatson.chunkfall;
 
 import org.bukkit.Bukkit;
 import org.bukkit.World;
+import org.bukkit.generator.ChunkGenerator;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import com.daytonjwatson.chunkfall.api.ChunkFallIslands;
 import com.daytonjwatson.chunkfall.command.ChunkFallCommand;
 import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.config.WorldRoles;
+import com.daytonjwatson.chunkfall.generator.IslandChunkGenerator;
+import com.daytonjwatson.chunkfall.listener.ChunkIndexListener;
 import com.daytonjwatson.chunkfall.listener.ChunkLoadListener;
 import com.daytonjwatson.chunkfall.listener.CobbleGeneratorListener;
 import com.daytonjwatson.chunkfall.listener.ElytraListener;
+import com.daytonjwatson.chunkfall.listener.InteractDispatcher;
 import com.daytonjwatson.chunkfall.listener.LimboChunkListener;
 import com.daytonjwatson.chunkfall.listener.LimboListener;
 import com.daytonjwatson.chunkfall.listener.VoidDeathListener;
+import com.daytonjwatson.chunkfall.listener.WorldRoleListener;
 import com.daytonjwatson.chunkfall.logic.ChunkProcessor;
+import com.daytonjwatson.chunkfall.logic.ChunkFallStats;
 import com.daytonjwatson.chunkfall.logic.CobbleGeneratorManager;
+import com.daytonjwatson.chunkfall.logic.IslandService;
 import com.daytonjwatson.chunkfall.logic.LimboManager;
+import com.daytonjwatson.chunkfall.logic.PregenManager;
+import com.daytonjwatson.chunkfall.storage.ChunkIndexManager;
 
 public class ChunkFallPlugin extends JavaPlugin {
 
     private ChunkFallConfig chunkFallConfig;
+    private ChunkIndexManager chunkIndexManager;
+    private ChunkFallStats stats;
     private ChunkProcessor chunkProcessor;
+    private PregenManager pregenManager;
     private LimboManager limboManager;
     private CobbleGeneratorManager cobbleGeneratorManager;
 
@@ -29,55 +44,81 @@ public class ChunkFallPlugin extends JavaPlugin {
 
         // Load config and core logic
         this.chunkFallConfig = new ChunkFallConfig(this);
-        this.chunkProcessor = new ChunkProcessor(chunkFallConfig);
-        this.limboManager = new LimboManager(chunkFallConfig);
+        this.chunkIndexManager = new ChunkIndexManager(this);
+        this.stats = new ChunkFallStats();
+        this.chunkProcessor = new ChunkProcessor(this, chunkFallConfig, chunkIndexManager, stats);
+        chunkProcessor.start();
+        Bukkit.getServicesManager().register(ChunkFallIslands.class,
+                new IslandService(chunkFallConfig, chunkProcessor.getIslandLayout()), this, ServicePriority.Normal);
+        this.pregenManager = new PregenManager(this, chunkFallConfig, chunkIndexManager);
+        pregenManager.loadSaved();
+        this.limboManager = new LimboManager(this, chunkFallConfig, stats);
+        // Worlds load after us (load: STARTUP), so set Limbo up on the first tick
+        Bukkit.getScheduler().runTask(this, limboManager::init);
+
+        // World roles, resolved once per world for the listeners below
+        WorldRoles worldRoles = new WorldRoles(chunkFallConfig);
+        Bukkit.getPluginManager().registerEvents(
+                new WorldRoleListener(worldRoles),
+                this
+        );
 
         // Register main world / nether chunk logic
         Bukkit.getPluginManager().registerEvents(
-                new ChunkLoadListener(chunkFallConfig, chunkProcessor),
+                new ChunkLoadListener(worldRoles, chunkProcessor),
                 this
         );
 
-        // Limbo void generation
+        // Persist the voided / island / protected chunk index with world saves
         Bukkit.getPluginManager().registerEvents(
-                new LimboChunkListener(chunkFallConfig),
+                new ChunkIndexListener(chunkIndexManager),
                 this
         );
 
-        // Elytra rocket blocking
+        // Limbo void generation
         Bukkit.getPluginManager().registerEvents(
-                new ElytraListener(chunkFallConfig),
+                new LimboChunkListener(worldRoles, limboManager),
                 this
         );
 
+        // Every right click goes through one dispatcher; features register by material
+        InteractDispatcher interactDispatcher = new InteractDispatcher();
+        Bukkit.getPluginManager().registerEvents(interactDispatcher, this);
+
+        // Elytra rocket blocking
+        new ElytraListener(chunkFallConfig).registerInteractions(interactDispatcher);
+
         // Limbo interaction (infinite cobble + anchor escape)
-        Bukkit.getPluginManager().registerEvents(
-                new LimboListener(chunkFallConfig, limboManager),
-                this
-        );
+        LimboListener limboListener = new LimboListener(chunkFallConfig, worldRoles, limboManager);
+        Bukkit.getPluginManager().registerEvents(limboListener, this);
+        limboListener.registerInteractions(interactDispatcher);
 
         // Void-death routing to Limbo
         Bukkit.getPluginManager().registerEvents(
-                new VoidDeathListener(this, chunkFallConfig, limboManager),
+                new VoidDeathListener(this, chunkFallConfig, worldRoles, limboManager),
                 this
         );
 
         // Cobblestone generator: INSTANTIATE before using
         if (chunkFallConfig.isCobbleGeneratorEnabled()) {
-            this.cobbleGeneratorManager = new CobbleGeneratorManager(this, chunkFallConfig);
+            this.cobbleGeneratorManager = new CobbleGeneratorManager(this, chunkFallConfig, stats);
 
-            Bukkit.getPluginManager().registerEvents(
-                    new CobbleGeneratorListener(chunkFallConfig, cobbleGeneratorManager),
-                    this
-            );
+            CobbleGeneratorListener cobbleGeneratorListener =
+                    new CobbleGeneratorListener(chunkFallConfig, worldRoles, cobbleGeneratorManager);
+            Bukkit.getPluginManager().registerEvents(cobbleGeneratorListener, this);
+            cobbleGeneratorListener.registerInteractions(interactDispatcher);
 
             cobbleGeneratorManager.start();
         }
 
-        // Setup overworld spawn island
-        World overworld = Bukkit.getWorld(chunkFallConfig.getTargetWorldName());
-        if (overworld != null && chunkFallConfig.isSetOverworldSpawnOnIsland()) {
-            chunkProcessor.ensureSpawnOnIsland(overworld);
+        // Setup overworld spawn island once the server is running, so startup never waits on the chunk
+        if (chunkFallConfig.isSetOverworldSpawnOnIsland()) {
+            Bukkit.getScheduler().runTask(this, () -> {
+                World overworld = Bukkit.getWorld(chunkFallConfig.getTargetWorldName());
+                if (overworld != null) {
+                    chunkProcessor.ensureSpawnOnIsland(overworld);
+                }
+            });
         }
 
         ChunkFallCommand command = new ChunkFallCommand(this);
@@ -87,14 +128,43 @@ public class ChunkFallPlugin extends JavaPlugin {
         }
     }
 
+    /**
+     * Provides the island generator for worlds configured with "generator: ChunkFall" in bukkit.yml.
+     * Plugin loads at STARTUP, so this is called after onEnable has built the config.
+     */
+    @Override
+    public ChunkGenerator getDefaultWorldGenerator(String worldName, String id) {
+        if (chunkFallConfig == null || !chunkFallConfig.isUseIslandGenerator()) {
+            return null;
+        }
+
+        String target = chunkFallConfig.getTargetWorldName();
+        if (worldName.equals(target) || worldName.equals(target + "_nether")) {
+            return new IslandChunkGenerator(chunkFallConfig, chunkProcessor);
+        }
+        return null;
+    }
+
     public ChunkFallConfig getChunkFallConfig() {
         return chunkFallConfig;
     }
 
+    public ChunkIndexManager getChunkIndexManager() {
+        return chunkIndexManager;
+    }
+
     public ChunkProcessor getChunkProcessor() {
         return chunkProcessor;
     }
 
+    public ChunkFallStats getStats() {
+        return stats;
+    }
+
+    public PregenManager getPregenManager() {
+        return pregenManager;
+    }
+
     public LimboManager getLimboManager() {
         return limboManager;
     }
@@ -105,8 +175,21 @@ public class ChunkFallPlugin extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        Bukkit.getServicesManager().unregisterAll(this);
+        if (pregenManager != null) {
+            pregenManager.stop();
+        }
+        if (chunkProcessor != null) {
+            chunkProcessor.stop();
+        }
+        if (chunkIndexManager != null) {
+            chunkIndexManager.closeAll();
+        }
         if (cobbleGeneratorManager != null) {
             cobbleGeneratorManager.stop();
         }
+        if (limboManager != null) {
+            limboManager.stop();
+        }
     }
 }
@@ -0,0 +1,54 @@
+package com.daytonjwatson.chunkfall.api;
+
+import org.bukkit.World;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * Where the islands of the ChunkFall worlds are, for other plugins. Registered with Bukkit's
+ * ServicesManager:
+ *
+ * <pre>
+ * ChunkFallIslands islands = Bukkit.getServicesManager().load(ChunkFallIslands.class);
+ * </pre>
+ *
+ * Every answer is computed from the world seed and the ChunkFall config without touching chunks,
+ * so all methods are safe to call from any thread.
+ *
+ * Chunks are returned as packed keys: x in the high 32 bits, z in the low 32 bits, so
+ * {@code x = (int) (key >> 32)} and {@code z = (int) key}.
+ */
+public interface ChunkFallIslands {
+
+    /**
+     * Whether ChunkFall clears this world down to islands (the target overworld and its nether).
+     * The other methods answer for any world, but only these worlds actually look that way.
+     */
+    boolean isIslandWorld(World world);
+
+    /**
+     * Side length in chunks of the square region each island is picked from.
+     */
+    int getRegionSize();
+
+    /**
+     * True if this chunk is the island chunk of its region.
+     */
+    boolean isKeptChunk(World world, int chunkX, int chunkZ);
+
+    /**
+     * @return packed key of the island chunk in this region
+     */
+    long getIslandChunk(World world, int regionX, int regionZ);
+
+    /**
+     * @return packed key of the island chunk closest to this chunk (straight-line distance)
+     */
+    long getNearestIsland(World world, int chunkX, int chunkZ);
+
+    /**
+     * Island chunks inside the chunk box, bounds inclusive, one region at a time.
+     * Nothing is computed ahead, so large boxes can be walked without building a list.
+     */
+    PrimitiveIterator.OfLong islandsIn(World world, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ);
+}
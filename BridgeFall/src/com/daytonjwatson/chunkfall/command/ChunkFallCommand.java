@@ -1,9 +1,14 @@
 package com.daytonjwatson.chunkfall.command;
 
 import com.daytonjwatson.chunkfall.ChunkFallPlugin;
+import com.daytonjwatson.chunkfall.logic.ChunkFallStats;
 import com.daytonjwatson.chunkfall.logic.LimboManager;
+import com.daytonjwatson.chunkfall.logic.PregenManager;
+import com.daytonjwatson.chunkfall.storage.ChunkState;
+import com.daytonjwatson.chunkfall.util.LatencyHistogram;
 import com.daytonjwatson.chunkfall.util.MessageUtil;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -35,6 +40,8 @@ public class ChunkFallCommand implements CommandExecutor, TabCompleter {
             case "info" -> handleInfo(sender);
             case "limbo" -> handleLimbo(sender, args);
             case "anchors" -> handleAnchors(sender, args);
+            case "pregen" -> handlePregen(sender, args);
+            case "stats" -> handleStats(sender, args);
             default -> MessageUtil.error(sender, "Unknown subcommand. Use /" + label + " help.");
         }
 
@@ -49,6 +56,14 @@ public class ChunkFallCommand implements CommandExecutor, TabCompleter {
         }
         if (sender.hasPermission("chunkfall.anchors")) {
             MessageUtil.info(sender, "/chunkfall anchors [count] - Spawn respawn anchors in Limbo.");
+            MessageUtil.info(sender, "/chunkfall anchors nearest - Find the closest respawn anchor in Limbo.");
+        }
+        if (sender.hasPermission("chunkfall.pregen")) {
+            MessageUtil.info(sender, "/chunkfall pregen <world> <radius> - Pre-generate a world around 0,0.");
+            MessageUtil.info(sender, "/chunkfall pregen <pause|resume|cancel|status> - Control the pre-generation.");
+        }
+        if (sender.hasPermission("chunkfall.stats")) {
+            MessageUtil.info(sender, "/chunkfall stats [reset] - Show or reset timings and chunk counts.");
         }
     }
 
@@ -96,6 +111,11 @@ public class ChunkFallCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
+        if (args.length >= 2 && args[1].equalsIgnoreCase("nearest")) {
+            findNearestAnchor(sender);
+            return;
+        }
+
         int count = plugin.getChunkFallConfig().getLimboAnchorsPerEntry();
         if (args.length >= 2) {
             try {
@@ -118,8 +138,145 @@ public class ChunkFallCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
-        limboManager.spawnRandomAnchors(limbo, count);
-        MessageUtil.success(sender, "Spawned " + count + " respawn anchors in Limbo.");
+        MessageUtil.info(sender, "Placing " + count + " respawn anchors in Limbo...");
+        limboManager.spawnRandomAnchors(limbo, count, sender);
+    }
+
+    private void findNearestAnchor(CommandSender sender) {
+        LimboManager limboManager = plugin.getLimboManager();
+        World limbo = limboManager != null ? limboManager.getOrCreateLimboWorld() : null;
+        if (limbo == null) {
+            MessageUtil.error(sender, "Limbo world could not be loaded.");
+            return;
+        }
+
+        // From the sender when they are in Limbo, otherwise from the platform
+        Location from;
+        if (sender instanceof Player player && player.getWorld().equals(limbo)) {
+            from = player.getLocation();
+        } else {
+            from = new Location(limbo, 1.5, plugin.getChunkFallConfig().getLimboBedrockY() + 1, 1.5);
+        }
+
+        Location anchor = limboManager.findNearestAnchor(from);
+        if (anchor == null) {
+            MessageUtil.info(sender, "No respawn anchors are tracked in Limbo.");
+            return;
+        }
+        MessageUtil.info(sender, "Nearest anchor: " + anchor.getBlockX() + ", " + anchor.getBlockY() + ", " + anchor.getBlockZ()
+                + " (" + (int) Math.round(anchor.distance(from)) + " blocks away, "
+                + limboManager.getAnchorCount() + " tracked).");
+    }
+
+    private void handlePregen(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("chunkfall.pregen")) {
+            MessageUtil.error(sender, "You do not have permission to use this command.");
+            return;
+        }
+
+        PregenManager pregen = plugin.getPregenManager();
+        if (args.length < 2) {
+            MessageUtil.error(sender, "Usage: /chunkfall pregen <world> <radius> | pause | resume | cancel | status");
+            return;
+        }
+
+        switch (args[1].toLowerCase()) {
+            case "status" -> pregen.sendStatus(sender);
+            case "pause" -> {
+                if (!pregen.isRunning() || pregen.isPaused()) {
+                    MessageUtil.error(sender, "No running pre-generation to pause.");
+                    return;
+                }
+                pregen.pause();
+                MessageUtil.success(sender, "Pre-generation paused.");
+            }
+            case "resume" -> {
+                if (!pregen.isRunning() || !pregen.isPaused()) {
+                    MessageUtil.error(sender, "No paused pre-generation to resume.");
+                    return;
+                }
+                pregen.resume(sender);
+                MessageUtil.success(sender, "Pre-generation resumed.");
+            }
+            case "cancel" -> {
+                if (!pregen.isRunning()) {
+                    MessageUtil.error(sender, "No pre-generation is running.");
+                    return;
+                }
+                pregen.cancel();
+                MessageUtil.success(sender, "Pre-generation cancelled.");
+            }
+            default -> startPregen(sender, pregen, args);
+        }
+    }
+
+    private void startPregen(CommandSender sender, PregenManager pregen, String[] args) {
+        World world = Bukkit.getWorld(args[1]);
+        if (world == null || !plugin.getChunkFallConfig().isTargetWorld(world)) {
+            MessageUtil.error(sender, "World must be a loaded ChunkFall world.");
+            return;
+        }
+        if (args.length < 3) {
+            MessageUtil.error(sender, "Usage: /chunkfall pregen <world> <radius>");
+            return;
+        }
+
+        int radius;
+        try {
+            radius = Integer.parseInt(args[2]);
+        } catch (NumberFormatException ex) {
+            MessageUtil.error(sender, "Radius must be a number of blocks.");
+            return;
+        }
+        if (radius < 0) {
+            MessageUtil.error(sender, "Radius must be a number of blocks.");
+            return;
+        }
+
+        if (!pregen.start(world, radius, sender)) {
+            MessageUtil.error(sender, "A pre-generation is already running. Use /chunkfall pregen status.");
+            return;
+        }
+        MessageUtil.success(sender, "Pre-generating " + world.getName() + " within " + radius + " blocks of 0,0.");
+    }
+
+    private void handleStats(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("chunkfall.stats")) {
+            MessageUtil.error(sender, "You do not have permission to use this command.");
+            return;
+        }
+
+        ChunkFallStats stats = plugin.getStats();
+        if (args.length >= 2 && args[1].equalsIgnoreCase("reset")) {
+            stats.reset();
+            MessageUtil.success(sender, "Stats reset.");
+            return;
+        }
+
+        MessageUtil.info(sender, "Chunks: " + stats.getChunkCount(ChunkState.VOIDED) + " voided, "
+                + stats.getChunkCount(ChunkState.ISLAND) + " island, "
+                + stats.getChunkCount(ChunkState.PROTECTED) + " protected");
+
+        boolean any = false;
+        for (ChunkFallStats.Timer timer : ChunkFallStats.Timer.values()) {
+            LatencyHistogram histogram = stats.getTimer(timer);
+            long count = histogram.getCount();
+            if (count == 0) {
+                continue;
+            }
+            any = true;
+            MessageUtil.info(sender, timer.getLabel() + ": n=" + count
+                    + " p50=" + formatMillis(histogram.getPercentile(50))
+                    + " p99=" + formatMillis(histogram.getPercentile(99))
+                    + " max=" + formatMillis(histogram.getMax()));
+        }
+        if (!any) {
+            MessageUtil.info(sender, "No timings recorded yet.");
+        }
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.3fms", nanos / 1_000_000.0);
     }
 
     @Override
@@ -132,9 +289,33 @@ public class ChunkFallCommand implements CommandExecutor, TabCompleter {
             if (sender.hasPermission("chunkfall.anchors")) {
                 base.add("anchors");
             }
+            if (sender.hasPermission("chunkfall.pregen")) {
+                base.add("pregen");
+            }
+            if (sender.hasPermission("chunkfall.stats")) {
+                base.add("stats");
+            }
             return base;
         }
 
+        if (args.length == 2 && args[0].equalsIgnoreCase("pregen") && sender.hasPermission("chunkfall.pregen")) {
+            List<String> options = new ArrayList<>(Arrays.asList("status", "pause", "resume", "cancel"));
+            for (World world : Bukkit.getWorlds()) {
+                if (plugin.getChunkFallConfig().isTargetWorld(world)) {
+                    options.add(world.getName());
+                }
+            }
+            return options;
+        }
+
+        if (args.length == 2 && args[0].equalsIgnoreCase("anchors") && sender.hasPermission("chunkfall.anchors")) {
+            return List.of("nearest");
+        }
+
+        if (args.length == 2 && args[0].equalsIgnoreCase("stats") && sender.hasPermission("chunkfall.stats")) {
+            return List.of("reset");
+        }
+
         if (args.length == 2 && args[0].equalsIgnoreCase("limbo")) {
             return Bukkit.getOnlinePlayers().stream().map(Player::getName).toList();
         }
@@ -1,21 +1,37 @@
 package com.daytonjwatson.chunkfall.config;
 
+import com.daytonjwatson.chunkfall.logic.IslandLayout;
+import com.daytonjwatson.chunkfall.util.MaterialSet;
+import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.World.Environment;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.Plugin;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class ChunkFallConfig {
 
     private final String targetWorldName;
     private final int regionSizeChunks;
+    private final IslandLayout.Picker islandPicker;
     private final boolean setOverworldSpawnOnIsland;
+    private final boolean useIslandGenerator;
+    private final int chunkScanThreads;
+    private final int chunkCacheSize;
+    private final int voidTickBudgetMs;
+    private final int pregenChunksPerTick;
 
     private final boolean protectEndPortalRoom;
     private final boolean protectEndPortalNeighbors;
     private final boolean protectNetherFortressEssentials;
 
+    // Blocks left in place in voided chunks
+    private final MaterialSet preserveOverworld;
+    private final MaterialSet preserveNether;
+
     private final boolean disableElytraRocketBoost;
 
     private final boolean starterKitEnabled;
@@ -28,6 +44,7 @@ public class ChunkFallConfig {
     private final int limboAnchorMinY;
     private final int limboAnchorMaxY;
     private final int limboAnchorRadius;
+    private final int limboAnchorCap;
 
     // Cobble generator settings
     private final boolean cobbleGeneratorEnabled;
@@ -56,7 +73,15 @@ public class ChunkFallConfig {
 
         this.targetWorldName = cfg.getString("target-world", "world");
         this.regionSizeChunks = Math.max(1, cfg.getInt("region-size-chunks", 64));
+        this.islandPicker = "hash".equalsIgnoreCase(cfg.getString("island-picker", "legacy"))
+                ? IslandLayout.Picker.HASH
+                : IslandLayout.Picker.LEGACY;
         this.setOverworldSpawnOnIsland = cfg.getBoolean("set-overworld-spawn-on-island", true);
+        this.useIslandGenerator = cfg.getBoolean("use-island-generator", false);
+        this.chunkScanThreads = Math.max(1, cfg.getInt("chunk-scan-threads", 2));
+        this.chunkCacheSize = cfg.getInt("chunk-cache-size", 65536);
+        this.voidTickBudgetMs = Math.max(1, cfg.getInt("void-tick-budget-ms", 5));
+        this.pregenChunksPerTick = Math.max(1, cfg.getInt("pregen-chunks-per-tick", 2));
 
         this.protectEndPortalRoom = cfg.getBoolean("protect-end-portal-room", true);
         this.protectEndPortalNeighbors = cfg.getBoolean("protect-end-portal-neighbors", true);
@@ -64,6 +89,10 @@ public class ChunkFallConfig {
         this.protectNetherFortressEssentials =
                 cfg.getBoolean("protect-nether-fortress-essential-chunks", true);
 
+        this.preserveOverworld = readMaterials(plugin, cfg, "preserve-blocks.overworld", List.of());
+        this.preserveNether = readMaterials(plugin, cfg, "preserve-blocks.nether", List.of(
+                "NETHER_BRICKS", "NETHER_BRICK_FENCE", "NETHER_BRICK_STAIRS", "NETHER_BRICK_SLAB"));
+
         this.disableElytraRocketBoost =
                 cfg.getBoolean("disable-elytra-rocket-boost", true);
 
@@ -79,6 +108,7 @@ public class ChunkFallConfig {
         this.limboAnchorMinY = cfg.getInt("limbo.anchor-min-y", 40);
         this.limboAnchorMaxY = cfg.getInt("limbo.anchor-max-y", 120);
         this.limboAnchorRadius = cfg.getInt("limbo.anchor-radius", 256);
+        this.limboAnchorCap = Math.max(0, cfg.getInt("limbo.anchor-cap", 200));
 
         // Cobble generator
         ConfigurationSection cg = cfg.getConfigurationSection("cobble-generator");
@@ -127,10 +157,45 @@ public class ChunkFallConfig {
         return regionSizeChunks;
     }
 
+    public IslandLayout.Picker getIslandPicker() {
+        return islandPicker;
+    }
+
     public boolean isSetOverworldSpawnOnIsland() {
         return setOverworldSpawnOnIsland;
     }
 
+    public boolean isUseIslandGenerator() {
+        return useIslandGenerator;
+    }
+
+    public int getChunkScanThreads() {
+        return chunkScanThreads;
+    }
+
+    public int getChunkCacheSize() {
+        return chunkCacheSize;
+    }
+
+    public int getVoidTickBudgetMs() {
+        return voidTickBudgetMs;
+    }
+
+    public int getPregenChunksPerTick() {
+        return pregenChunksPerTick;
+    }
+
+    /**
+     * Blocks kept when a chunk of this dimension is voided.
+     */
+    public MaterialSet getPreserveBlocks(Environment env) {
+        return switch (env) {
+            case NORMAL -> preserveOverworld;
+            case NETHER -> preserveNether;
+            default -> MaterialSet.EMPTY;
+        };
+    }
+
     public boolean isProtectEndPortalRoom() {
         return protectEndPortalRoom;
     }
@@ -180,6 +245,10 @@ public class ChunkFallConfig {
         return limboAnchorRadius;
     }
 
+    public int getLimboAnchorCap() {
+        return limboAnchorCap;
+    }
+
     // Cobble generator getters
     public boolean isCobbleGeneratorEnabled() {
         return cobbleGeneratorEnabled;
@@ -263,4 +332,22 @@ public class ChunkFallConfig {
         }
         return name.equals(targetWorldName + "_nether"); // nether
     }
+
+    /**
+     * Reads a list of material names; unknown names are logged and skipped.
+     * A missing key uses the defaults, an empty list keeps nothing.
+     */
+    private static MaterialSet readMaterials(Plugin plugin, FileConfiguration cfg, String path, List<String> defaults) {
+        List<String> names = cfg.contains(path) ? cfg.getStringList(path) : defaults;
+        List<Material> materials = new ArrayList<>();
+        for (String name : names) {
+            Material material = Material.matchMaterial(name);
+            if (material == null) {
+                plugin.getLogger().warning("[ChunkFall] Unknown material '" + name + "' in " + path + "; ignored.");
+                continue;
+            }
+            materials.add(material);
+        }
+        return MaterialSet.of(materials);
+    }
 }
@@ -0,0 +1,18 @@
+package com.daytonjwatson.chunkfall.config;
+
+/**
+ * What ChunkFall does in a world, decided from the configured world names.
+ */
+public enum WorldRole {
+    OVERWORLD_TARGET,
+    NETHER_TARGET,
+    LIMBO,
+    OTHER;
+
+    /**
+     * Whether chunks of this world are cleared down to islands.
+     */
+    public boolean isTarget() {
+        return this == OVERWORLD_TARGET || this == NETHER_TARGET;
+    }
+}
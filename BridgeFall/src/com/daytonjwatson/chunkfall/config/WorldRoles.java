@@ -0,0 +1,63 @@
+package com.daytonjwatson.chunkfall.config;
+
+import org.bukkit.World;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The {@link WorldRole} of each loaded world, resolved once and looked up by world identity,
+ * so event handlers do not compare world names. Main thread only.
+ *
+ * Worlds are resolved on first lookup as well as on load, since a world fires chunk loads
+ * before its WorldLoadEvent.
+ */
+public class WorldRoles {
+
+    private final ChunkFallConfig config;
+    private final Map<World, WorldRole> roles = new IdentityHashMap<>();
+
+    public WorldRoles(ChunkFallConfig config) {
+        this.config = config;
+    }
+
+    public WorldRole get(World world) {
+        if (world == null) {
+            return WorldRole.OTHER;
+        }
+        WorldRole role = roles.get(world);
+        if (role == null) {
+            role = resolve(world);
+            roles.put(world, role);
+        }
+        return role;
+    }
+
+    public boolean isTarget(World world) {
+        return get(world).isTarget();
+    }
+
+    public boolean isLimbo(World world) {
+        return get(world) == WorldRole.LIMBO;
+    }
+
+    public void handleWorldLoad(World world) {
+        roles.put(world, resolve(world));
+    }
+
+    public void handleWorldUnload(World world) {
+        roles.remove(world);
+    }
+
+    private WorldRole resolve(World world) {
+        if (config.isTargetWorld(world)) {
+            return world.getName().equals(config.getTargetWorldName())
+                    ? WorldRole.OVERWORLD_TARGET
+                    : WorldRole.NETHER_TARGET;
+        }
+        if (world.getName().equals(config.getLimboWorldName())) {
+            return WorldRole.LIMBO;
+        }
+        return WorldRole.OTHER;
+    }
+}
@@ -0,0 +1,98 @@
+package com.daytonjwatson.chunkfall.generator;
+
+import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.logic.ChunkProcessor;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.World.Environment;
+import org.bukkit.generator.ChunkGenerator;
+import org.bukkit.generator.WorldInfo;
+
+import java.util.Random;
+
+/**
+ * Generator for the target overworld / nether that only runs vanilla generation
+ * for the island chunk of each region. Every other chunk is generated empty, so it
+ * never has to be cleared block by block after it loads.
+ *
+ * Structures are still allowed in void chunks when the matching structure protection
+ * is enabled, otherwise stronghold portal rooms and fortresses could never appear.
+ * Only the chunks that actually received structure pieces, and the neighbors of an island
+ * chunk (its trees and other decorations can reach a few blocks past its edge), still
+ * need the normal post-load pass; see {@link #isUntouched}.
+ */
+public class IslandChunkGenerator extends ChunkGenerator {
+
+    private final ChunkFallConfig config;
+    private final ChunkProcessor processor;
+
+    public IslandChunkGenerator(ChunkFallConfig config, ChunkProcessor processor) {
+        this.config = config;
+        this.processor = processor;
+    }
+
+    private boolean isIsland(WorldInfo worldInfo, int chunkX, int chunkZ) {
+        return processor.isKeptChunk(worldInfo.getSeed(), chunkX, chunkZ);
+    }
+
+    /**
+     * Main thread only. True if this chunk was generated empty and nothing was placed in it
+     * afterwards: it is not next to an island chunk, and no structure piece overlaps it.
+     */
+    public boolean isUntouched(Chunk chunk) {
+        World world = chunk.getWorld();
+        long seed = world.getSeed();
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                if (processor.isKeptChunk(seed, chunk.getX() + dx, chunk.getZ() + dz)) {
+                    return false;
+                }
+            }
+        }
+        return !keepsStructures(world.getEnvironment()) || chunk.getStructures().isEmpty();
+    }
+
+    /**
+     * Whether void chunks in this dimension can still receive structure pieces,
+     * meaning they need the normal post-load pass to protect or clear them.
+     */
+    public boolean keepsStructures(Environment env) {
+        if (env == Environment.NORMAL) {
+            return config.isProtectEndPortalRoom();
+        }
+        if (env == Environment.NETHER) {
+            return config.isProtectNetherFortressEssentials();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean shouldGenerateNoise(WorldInfo worldInfo, Random random, int chunkX, int chunkZ) {
+        return isIsland(worldInfo, chunkX, chunkZ);
+    }
+
+    @Override
+    public boolean shouldGenerateSurface(WorldInfo worldInfo, Random random, int chunkX, int chunkZ) {
+        return isIsland(worldInfo, chunkX, chunkZ);
+    }
+
+    @Override
+    public boolean shouldGenerateCaves(WorldInfo worldInfo, Random random, int chunkX, int chunkZ) {
+        return isIsland(worldInfo, chunkX, chunkZ);
+    }
+
+    @Override
+    public boolean shouldGenerateDecorations(WorldInfo worldInfo, Random random, int chunkX, int chunkZ) {
+        return isIsland(worldInfo, chunkX, chunkZ);
+    }
+
+    @Override
+    public boolean shouldGenerateMobs(WorldInfo worldInfo, Random random, int chunkX, int chunkZ) {
+        return isIsland(worldInfo, chunkX, chunkZ);
+    }
+
+    @Override
+    public boolean shouldGenerateStructures(WorldInfo worldInfo, Random random, int chunkX, int chunkZ) {
+        return isIsland(worldInfo, chunkX, chunkZ) || keepsStructures(worldInfo.getEnvironment());
+    }
+}
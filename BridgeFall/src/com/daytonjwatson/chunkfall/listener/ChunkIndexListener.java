@@ -0,0 +1,28 @@
+package com.daytonjwatson.chunkfall.listener;
+
+import com.daytonjwatson.chunkfall.storage.ChunkIndexManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldSaveEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+public class ChunkIndexListener implements Listener {
+
+    private final ChunkIndexManager indexManager;
+
+    public ChunkIndexListener(ChunkIndexManager indexManager) {
+        this.indexManager = indexManager;
+    }
+
+    @EventHandler
+    public void onWorldSave(WorldSaveEvent event) {
+        // Write dirty index pages off the main thread alongside the world save
+        indexManager.flushAsync(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        indexManager.close(event.getWorld());
+    }
+}
@@ -1,6 +1,6 @@
 package com.daytonjwatson.chunkfall.listener;
 
-import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.config.WorldRoles;
 import com.daytonjwatson.chunkfall.logic.ChunkProcessor;
 import org.bukkit.World;
 import org.bukkit.event.EventHandler;
@@ -9,24 +9,26 @@ import org.bukkit.event.world.ChunkLoadEvent;
 
 public class ChunkLoadListener implements Listener {
 
-    private final ChunkFallConfig config;
+    private final WorldRoles worldRoles;
     private final ChunkProcessor processor;
 
-    public ChunkLoadListener(ChunkFallConfig config, ChunkProcessor processor) {
-        this.config = config;
+    public ChunkLoadListener(WorldRoles worldRoles, ChunkProcessor processor) {
+        this.worldRoles = worldRoles;
         this.processor = processor;
     }
 
     @EventHandler
     public void onChunkLoad(ChunkLoadEvent event) {
         World world = event.getWorld();
-        if (!config.isTargetWorld(world)) {
+        if (!worldRoles.isTarget(world)) {
             return;
         }
 
         // IMPORTANT: only process newly generated chunks.
-        // Existing chunks (with player-built bridges) will never be touched again.
+        // Existing chunks (with player-built bridges) will never be touched again,
+        // apart from finishing a decision that was pending when the chunk unloaded.
         if (!event.isNewChunk()) {
+            processor.handleChunkReload(event.getChunk());
             return;
         }
 
@@ -1,6 +1,7 @@
 package com.daytonjwatson.chunkfall.listener;
 
 import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.config.WorldRoles;
 import com.daytonjwatson.chunkfall.logic.CobbleGeneratorManager;
 import com.daytonjwatson.chunkfall.util.CobbleGenMessages;
 import org.bukkit.Material;
@@ -12,7 +13,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
-import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.Inventory;
@@ -21,10 +21,12 @@ import org.bukkit.inventory.ItemStack;
 public class CobbleGeneratorListener implements Listener {
 
     private final ChunkFallConfig config;
+    private final WorldRoles worldRoles;
     private final CobbleGeneratorManager manager;
 
-    public CobbleGeneratorListener(ChunkFallConfig config, CobbleGeneratorManager manager) {
+    public CobbleGeneratorListener(ChunkFallConfig config, WorldRoles worldRoles, CobbleGeneratorManager manager) {
         this.config = config;
+        this.worldRoles = worldRoles;
         this.manager = manager;
     }
 
@@ -44,13 +46,13 @@ public class CobbleGeneratorListener implements Listener {
                 || type == Material.NETHERITE_PICKAXE;
     }
 
-    @EventHandler
-    public void onCreateGenerator(PlayerInteractEvent event) {
-        if (!isEnabled()) {
-            return;
-        }
+    public void registerInteractions(InteractDispatcher dispatcher) {
+        dispatcher.onBlock(Material.BARREL, this::onCreateGenerator);
+    }
 
-        if (event.getAction() != Action.RIGHT_CLICK_BLOCK) {
+    // Right click on a barrel; the dispatcher checked the action and block type
+    private void onCreateGenerator(PlayerInteractEvent event) {
+        if (!isEnabled()) {
             return;
         }
 
@@ -59,11 +61,8 @@ public class CobbleGeneratorListener implements Listener {
         }
 
         Block block = event.getClickedBlock();
-        if (block == null || block.getType() != Material.BARREL) {
-            return;
-        }
 
-        if (!config.isTargetWorld(block.getWorld())) {
+        if (!worldRoles.isTarget(block.getWorld())) {
             return;
         }
 
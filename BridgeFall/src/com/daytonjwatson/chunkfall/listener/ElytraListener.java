@@ -3,13 +3,12 @@ package com.daytonjwatson.chunkfall.listener;
 import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
-import org.bukkit.inventory.EquipmentSlot;
 
-public class ElytraListener implements Listener {
+/**
+ * Blocks firework rocket boosts while gliding. Called through the {@link InteractDispatcher}.
+ */
+public class ElytraListener {
 
     private final ChunkFallConfig config;
 
@@ -17,26 +16,15 @@ public class ElytraListener implements Listener {
         this.config = config;
     }
 
-    @EventHandler
-    public void onPlayerUseFireworkWhileGliding(PlayerInteractEvent event) {
-        if (!config.isDisableElytraRocketBoost()) {
-            return;
-        }
-
-        Action action = event.getAction();
-        if (action != Action.RIGHT_CLICK_AIR && action != Action.RIGHT_CLICK_BLOCK) {
-            return;
-        }
-
-        // Only care about the hand actually used
-        if (event.getHand() != EquipmentSlot.HAND && event.getHand() != EquipmentSlot.OFF_HAND) {
-            return;
-        }
-
-        if (event.getItem() == null || event.getItem().getType() != Material.FIREWORK_ROCKET) {
-            return;
+    public void registerInteractions(InteractDispatcher dispatcher) {
+        // With boosting allowed nothing is registered, so rocket clicks cost nothing extra
+        if (config.isDisableElytraRocketBoost()) {
+            dispatcher.onItem(Material.FIREWORK_ROCKET, this::onPlayerUseFireworkWhileGliding);
         }
+    }
 
+    // Right click holding a firework rocket in the hand used; checked by the dispatcher
+    private void onPlayerUseFireworkWhileGliding(PlayerInteractEvent event) {
         Player player = event.getPlayer();
         if (!player.isGliding()) {
             return; // rocket use is fine when not gliding
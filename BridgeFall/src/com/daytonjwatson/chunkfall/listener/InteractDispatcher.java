@@ -0,0 +1,91 @@
+package com.daytonjwatson.chunkfall.listener;
+
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Arrays;
+
+/**
+ * The one ChunkFall listener for PlayerInteractEvent. Does the checks every feature shares
+ * (right click, main or off hand) once, then looks handlers up by the clicked block's and the
+ * held item's material in tables indexed by ordinal. A click on anything no feature registered
+ * for costs two array reads.
+ *
+ * Handlers run whether or not an earlier one cancelled the event, like separate listeners did.
+ */
+public class InteractDispatcher implements Listener {
+
+    @FunctionalInterface
+    public interface InteractHandler {
+        void handle(PlayerInteractEvent event);
+    }
+
+    private static final InteractHandler[] NONE = new InteractHandler[0];
+
+    private final InteractHandler[][] byBlock = new InteractHandler[Material.values().length][];
+    private final InteractHandler[][] byItem = new InteractHandler[Material.values().length][];
+
+    /**
+     * Handler for right clicks on a block of this material.
+     */
+    public void onBlock(Material material, InteractHandler handler) {
+        add(byBlock, material, handler);
+    }
+
+    /**
+     * Handler for right clicks (on air or a block) while holding this material.
+     */
+    public void onItem(Material material, InteractHandler handler) {
+        add(byItem, material, handler);
+    }
+
+    @EventHandler
+    public void onPlayerInteract(PlayerInteractEvent event) {
+        Action action = event.getAction();
+        if (action != Action.RIGHT_CLICK_AIR && action != Action.RIGHT_CLICK_BLOCK) {
+            return;
+        }
+
+        EquipmentSlot hand = event.getHand();
+        if (hand != EquipmentSlot.HAND && hand != EquipmentSlot.OFF_HAND) {
+            return;
+        }
+
+        if (action == Action.RIGHT_CLICK_BLOCK) {
+            Block clicked = event.getClickedBlock();
+            if (clicked != null) {
+                dispatch(byBlock[clicked.getType().ordinal()], event);
+            }
+        }
+
+        ItemStack item = event.getItem();
+        if (item != null) {
+            dispatch(byItem[item.getType().ordinal()], event);
+        }
+    }
+
+    private static void dispatch(InteractHandler[] handlers, PlayerInteractEvent event) {
+        if (handlers == null) {
+            return;
+        }
+        for (InteractHandler handler : handlers) {
+            handler.handle(event);
+        }
+    }
+
+    private static void add(InteractHandler[][] table, Material material, InteractHandler handler) {
+        InteractHandler[] current = table[material.ordinal()];
+        if (current == null) {
+            current = NONE;
+        }
+        InteractHandler[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = handler;
+        table[material.ordinal()] = updated;
+    }
+}
@@ -1,34 +1,43 @@
 package com.daytonjwatson.chunkfall.listener;
 
-import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.config.WorldRoles;
+import com.daytonjwatson.chunkfall.generator.VoidChunkGenerator;
+import com.daytonjwatson.chunkfall.logic.ChunkScanner;
+import com.daytonjwatson.chunkfall.logic.LimboManager;
+import com.daytonjwatson.chunkfall.util.MaterialSet;
 import org.bukkit.Chunk;
-import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.world.ChunkLoadEvent;
 
-public class LimboChunkListener implements Listener {
+import java.util.List;
 
-    private final ChunkFallConfig config;
+public class LimboChunkListener implements Listener {
 
-    public LimboChunkListener(ChunkFallConfig config) {
-        this.config = config;
-    }
+    private final WorldRoles worldRoles;
+    private final LimboManager limboManager;
 
-    private boolean isLimbo(World world) {
-        return world != null && world.getName().equals(config.getLimboWorldName());
+    public LimboChunkListener(WorldRoles worldRoles, LimboManager limboManager) {
+        this.worldRoles = worldRoles;
+        this.limboManager = limboManager;
     }
 
     @EventHandler
     public void onLimboChunkLoad(ChunkLoadEvent event) {
         World world = event.getWorld();
-        if (!isLimbo(world)) {
+        if (!worldRoles.isLimbo(world)) {
             return;
         }
 
         // Only void *newly generated* chunks so player-built bridges persist across restarts
         if (!event.isNewChunk()) {
+            limboManager.handleChunkLoad(event.getChunk());
+            return;
+        }
+
+        // Our generator already makes them empty; only a Limbo loaded by something else needs this
+        if (world.getGenerator() instanceof VoidChunkGenerator) {
             return;
         }
 
@@ -36,16 +45,9 @@ public class LimboChunkListener implements Listener {
     }
 
     private void voidifyChunk(Chunk chunk) {
+        // Section-aware: skips empty sections
         World world = chunk.getWorld();
-        int minY = world.getMinHeight();
-        int maxY = world.getMaxHeight();
-
-        for (int x = 0; x < 16; x++) {
-            for (int z = 0; z < 16; z++) {
-                for (int y = minY; y < maxY; y++) {
-                    chunk.getBlock(x, y, z).setType(Material.AIR, false);
-                }
-            }
-        }
+        ChunkScanner.scan(chunk.getChunkSnapshot(false, false, false), world.getMinHeight(), world.getMaxHeight(),
+                List.of(), MaterialSet.EMPTY).getVoidPlan().apply(chunk);
     }
 }
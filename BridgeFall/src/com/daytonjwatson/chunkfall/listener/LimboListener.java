@@ -1,6 +1,7 @@
 package com.daytonjwatson.chunkfall.listener;
 
 import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.config.WorldRoles;
 import com.daytonjwatson.chunkfall.logic.LimboManager;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -11,13 +12,13 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
-import org.bukkit.event.block.Action;
-import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.inventory.ItemStack;
 
 public class LimboListener implements Listener {
 
     private final ChunkFallConfig config;
+    private final WorldRoles worldRoles;
     private final LimboManager limboManager;
 
     // Platform center and size must match LimboManager
@@ -26,13 +27,14 @@ public class LimboListener implements Listener {
     private static final int PLATFORM_HALF_SIZE_NEG = 4; // centerX-4
     private static final int PLATFORM_HALF_SIZE_POS = 5; // centerX+5
 
-    public LimboListener(ChunkFallConfig config, LimboManager limboManager) {
+    public LimboListener(ChunkFallConfig config, WorldRoles worldRoles, LimboManager limboManager) {
         this.config = config;
+        this.worldRoles = worldRoles;
         this.limboManager = limboManager;
     }
 
     private boolean isInLimboWorld(World world) {
-        return world != null && world.getName().equals(config.getLimboWorldName());
+        return worldRoles.isLimbo(world);
     }
 
     private boolean isInPlatformColumn(int x, int z) {
@@ -99,29 +101,44 @@ public class LimboListener implements Listener {
 
     // 3) Respawn anchor use → escape Limbo
 
-    @EventHandler
-    public void onLimboAnchorUse(PlayerInteractEvent event) {
-        if (event.getAction() != Action.RIGHT_CLICK_BLOCK) {
-            return;
-        }
+    public void registerInteractions(InteractDispatcher dispatcher) {
+        dispatcher.onBlock(Material.RESPAWN_ANCHOR, this::onLimboAnchorUse);
+    }
 
+    // Right click on a respawn anchor with either hand; checked by the dispatcher
+    private void onLimboAnchorUse(PlayerInteractEvent event) {
         Block clicked = event.getClickedBlock();
-        if (clicked == null || clicked.getType() != Material.RESPAWN_ANCHOR) {
+        World world = clicked.getWorld();
+        if (!isInLimboWorld(world)) {
             return;
         }
 
-        World world = clicked.getWorld();
-        if (!isInLimboWorld(world)) {
+        Player player = event.getPlayer();
+
+        event.setCancelled(true);
+        limboManager.useRespawnAnchor(player, clicked);
+    }
+
+    // 4) Broken anchors are no longer tracked
+
+    @EventHandler
+    public void onLimboAnchorBreak(BlockBreakEvent event) {
+        if (event.isCancelled()) {
             return;
         }
 
-        if (event.getHand() != EquipmentSlot.HAND && event.getHand() != EquipmentSlot.OFF_HAND) {
+        Block block = event.getBlock();
+        if (block.getType() != Material.RESPAWN_ANCHOR || !isInLimboWorld(block.getWorld())) {
             return;
         }
 
-        Player player = event.getPlayer();
+        limboManager.forgetAnchor(block);
+    }
 
-        event.setCancelled(true);
-        limboManager.useRespawnAnchor(player, clicked);
+    // 5) Drop the cached Limbo world if it unloads
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        limboManager.handleWorldUnload(event.getWorld());
     }
 }
@@ -2,40 +2,44 @@ package com.daytonjwatson.chunkfall.listener;
 
 import com.daytonjwatson.chunkfall.ChunkFallPlugin;
 import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.config.WorldRoles;
 import com.daytonjwatson.chunkfall.logic.LimboManager;
+import com.daytonjwatson.chunkfall.storage.LimboStateStore;
+import com.daytonjwatson.chunkfall.storage.LimboStateStore.PendingRespawn;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
 import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
 
-import java.util.HashSet;
-import java.util.Set;
 import java.util.UUID;
 
 public class VoidDeathListener implements Listener {
 
     private final ChunkFallPlugin plugin;
     private final ChunkFallConfig config;
+    private final WorldRoles worldRoles;
     private final LimboManager limboManager;
 
-    // Void deaths outside Limbo → enter Limbo
-    private final Set<UUID> voidDeathOutsideLimbo = new HashSet<>();
-    // Any deaths in Limbo → respawn in Limbo
-    private final Set<UUID> deathInLimbo = new HashSet<>();
+    // Pending respawns outlive disconnects and restarts
+    private final LimboStateStore states;
 
     public VoidDeathListener(ChunkFallPlugin plugin,
                              ChunkFallConfig config,
+                             WorldRoles worldRoles,
                              LimboManager limboManager) {
         this.plugin = plugin;
         this.config = config;
+        this.worldRoles = worldRoles;
         this.limboManager = limboManager;
+        this.states = limboManager.getStateStore();
     }
 
     private boolean isLimboWorld(World world) {
-        return world != null && world.getName().equals(config.getLimboWorldName());
+        return worldRoles.isLimbo(world);
     }
 
     @EventHandler
@@ -51,21 +55,31 @@ public class VoidDeathListener implements Listener {
 
         if (inLimbo) {
             // Any death in Limbo → track for Limbo respawn
-            deathInLimbo.add(id);
+            states.setPendingRespawn(id, PendingRespawn.RETURN_TO_LIMBO);
         } else {
             // Only void deaths outside Limbo trigger Limbo entry
             if (cause == DamageCause.VOID) {
-                voidDeathOutsideLimbo.add(id);
+                states.setPendingRespawn(id, PendingRespawn.ENTER_LIMBO);
             }
         }
     }
 
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        // Still on the death screen: the pending respawn applies when they click respawn.
+        // Otherwise they respawned while we were not listening, so it is stale.
+        if (!event.getPlayer().isDead()) {
+            states.setPendingRespawn(event.getPlayer().getUniqueId(), PendingRespawn.NONE);
+        }
+    }
+
     @EventHandler
     public void onPlayerRespawn(PlayerRespawnEvent event) {
         UUID id = event.getPlayer().getUniqueId();
+        PendingRespawn pending = states.takePendingRespawn(id);
 
         // Case 1: death happened in Limbo → respawn in Limbo, no new anchors
-        if (deathInLimbo.remove(id)) {
+        if (pending == PendingRespawn.RETURN_TO_LIMBO) {
             World limbo = limboManager.getOrCreateLimboWorld();
             if (limbo == null) {
                 return;
@@ -83,7 +97,7 @@ public class VoidDeathListener implements Listener {
         }
 
         // Case 2: void death outside Limbo → send them to Limbo, spawn anchors
-        if (voidDeathOutsideLimbo.remove(id)) {
+        if (pending == PendingRespawn.ENTER_LIMBO) {
             World limbo = limboManager.getOrCreateLimboWorld();
             if (limbo == null) {
                 return;
@@ -0,0 +1,27 @@
+package com.daytonjwatson.chunkfall.listener;
+
+import com.daytonjwatson.chunkfall.config.WorldRoles;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+public class WorldRoleListener implements Listener {
+
+    private final WorldRoles worldRoles;
+
+    public WorldRoleListener(WorldRoles worldRoles) {
+        this.worldRoles = worldRoles;
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onWorldLoad(WorldLoadEvent event) {
+        worldRoles.handleWorldLoad(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        worldRoles.handleWorldUnload(event.getWorld());
+    }
+}
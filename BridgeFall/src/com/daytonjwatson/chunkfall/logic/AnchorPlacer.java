@@ -0,0 +1,156 @@
+package com.daytonjwatson.chunkfall.logic;
+
+import com.daytonjwatson.chunkfall.util.ChunkKeyUtil;
+import com.daytonjwatson.chunkfall.util.MessageUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Places respawn anchors as a queued job instead of loading a chunk per anchor on the spot.
+ * Anchors are grouped by chunk; chunks that are already loaded are filled right away, then
+ * generated chunks, then new ones. Chunks that still need loading are loaded on later ticks,
+ * at most {@link #LOADS_PER_TICK} per tick. Main thread only.
+ */
+class AnchorPlacer {
+
+    // Loading (or generating) a chunk blocks the tick, so only a few are loaded per tick
+    private static final int LOADS_PER_TICK = 2;
+
+    private final Plugin plugin;
+    private final AnchorRegistry registry;
+    private final Deque<Job> jobs = new ArrayDeque<>();
+    private BukkitTask task;
+
+    AnchorPlacer(Plugin plugin, AnchorRegistry registry) {
+        this.plugin = plugin;
+        this.registry = registry;
+    }
+
+    /**
+     * @param positions block positions as {x, y, z}
+     * @param reportTo  told how many anchors were placed once the job is done; may be null
+     */
+    void submit(World world, List<int[]> positions, CommandSender reportTo) {
+        Map<Long, ChunkBatch> byChunk = new LinkedHashMap<>();
+        for (int[] pos : positions) {
+            int chunkX = pos[0] >> 4;
+            int chunkZ = pos[2] >> 4;
+            byChunk.computeIfAbsent(ChunkKeyUtil.chunkKey(chunkX, chunkZ), key -> new ChunkBatch(chunkX, chunkZ))
+                    .positions.add(pos);
+        }
+
+        Job job = new Job(world, reportTo);
+        List<ChunkBatch> ungenerated = new ArrayList<>();
+        for (ChunkBatch batch : byChunk.values()) {
+            if (world.isChunkLoaded(batch.chunkX, batch.chunkZ)) {
+                place(job, batch);
+            } else if (world.isChunkGenerated(batch.chunkX, batch.chunkZ)) {
+                job.waiting.add(batch);
+            } else {
+                ungenerated.add(batch);
+            }
+        }
+        job.waiting.addAll(ungenerated);
+
+        if (job.waiting.isEmpty()) {
+            finish(job);
+            return;
+        }
+        jobs.add(job);
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Drops unfinished jobs; anchors not placed yet are simply skipped.
+     */
+    void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        jobs.clear();
+    }
+
+    private void tick() {
+        Job job = jobs.peek();
+        if (job == null) {
+            stop();
+            return;
+        }
+
+        if (Bukkit.getWorld(job.world.getUID()) != job.world) {
+            // Limbo was unloaded; nothing left to place into
+            jobs.poll();
+            finish(job);
+            return;
+        }
+
+        int loads = LOADS_PER_TICK;
+        while (loads > 0 && !job.waiting.isEmpty()) {
+            ChunkBatch batch = job.waiting.poll();
+            if (!job.world.isChunkLoaded(batch.chunkX, batch.chunkZ)) {
+                loads--;
+                job.world.getChunkAt(batch.chunkX, batch.chunkZ);
+            }
+            place(job, batch);
+        }
+
+        if (job.waiting.isEmpty()) {
+            jobs.poll();
+            finish(job);
+        }
+    }
+
+    private void place(Job job, ChunkBatch batch) {
+        for (int[] pos : batch.positions) {
+            job.world.getBlockAt(pos[0], pos[1], pos[2]).setType(Material.RESPAWN_ANCHOR, false);
+            registry.add(job.world, pos[0], pos[1], pos[2]);
+            job.placed++;
+        }
+    }
+
+    private static void finish(Job job) {
+        CommandSender sender = job.reportTo;
+        if (sender == null || (sender instanceof Player player && !player.isOnline())) {
+            return;
+        }
+        MessageUtil.success(sender, "Placed " + job.placed + " respawn anchors in Limbo.");
+    }
+
+    private static final class Job {
+        final World world;
+        final CommandSender reportTo;
+        final Deque<ChunkBatch> waiting = new ArrayDeque<>();
+        int placed;
+
+        Job(World world, CommandSender reportTo) {
+            this.world = world;
+            this.reportTo = reportTo;
+        }
+    }
+
+    private static final class ChunkBatch {
+        final int chunkX;
+        final int chunkZ;
+        final List<int[]> positions = new ArrayList<>();
+
+        ChunkBatch(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.daytonjwatson.chunkfall.logic;
+
+import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.storage.AnchorStore;
+import com.daytonjwatson.chunkfall.util.ChunkKeyUtil;
+import com.daytonjwatson.chunkfall.util.LongHashSet;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The respawn anchors ChunkFall placed in Limbo, in placement order, indexed by 64x64 block
+ * cells so the nearest one is found by searching outward from the cell of the query instead of
+ * checking every anchor. Holds at most limbo.anchor-cap anchors; the oldest are removed from
+ * the world to make room. Removing never loads a chunk: anchors in unloaded chunks are cleared
+ * when their chunk next loads.
+ *
+ * Saved to anchors.yml a little after each change and on shutdown, through the store's single
+ * writer thread. Main thread only.
+ */
+class AnchorRegistry {
+
+    private static final int CELL_SHIFT = 6;
+    private static final long SAVE_DELAY_TICKS = 20L * 30;
+
+    private final Plugin plugin;
+    private final ChunkFallConfig config;
+    private final AnchorStore store;
+
+    // Packed positions (see pack) in placement order, so the first is the oldest
+    private final LinkedHashSet<Long> anchors = new LinkedHashSet<>();
+    private final Map<Long, LongHashSet> cells = new HashMap<>();
+    // Dropped anchors still in the world, by chunk key; cleared when the chunk loads
+    private final Map<Long, LongHashSet> removals = new HashMap<>();
+
+    // Bounds of the cells that ever held an anchor; limits how far a search walks
+    private int minCellX = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int minCellZ = Integer.MAX_VALUE;
+    private int maxCellZ = Integer.MIN_VALUE;
+
+    private BukkitTask saveTask;
+    // Nothing is saved before the file was read, or an early shutdown would empty it
+    private boolean loaded;
+
+    AnchorRegistry(Plugin plugin, ChunkFallConfig config) {
+        this.plugin = plugin;
+        this.config = config;
+        this.store = new AnchorStore(plugin);
+    }
+
+    void load() {
+        AnchorStore.Saved saved = store.load();
+        for (int[] pos : saved.anchors()) {
+            index(pack(pos[0], pos[1], pos[2]));
+        }
+        for (int[] pos : saved.removals()) {
+            addRemoval(pack(pos[0], pos[1], pos[2]));
+        }
+        loaded = true;
+    }
+
+    int size() {
+        return anchors.size();
+    }
+
+    void add(World limbo, int x, int y, int z) {
+        long pos = pack(x, y, z);
+        if (!index(pos)) {
+            return;
+        }
+        // A new anchor where an old one was waiting to be cleared
+        LongHashSet pending = removals.get(chunkKeyOf(pos));
+        if (pending != null && pending.remove(pos) && pending.isEmpty()) {
+            removals.remove(chunkKeyOf(pos));
+        }
+        enforceCap(limbo);
+        saveLater();
+    }
+
+    boolean remove(int x, int y, int z) {
+        long pos = pack(x, y, z);
+        if (!anchors.remove(pos)) {
+            return false;
+        }
+        unindex(pos);
+        saveLater();
+        return true;
+    }
+
+    /**
+     * Removes the oldest anchors, from the registry and the world, until the cap is met.
+     * Anchors in unloaded chunks are left for {@link #clearRemovals(Chunk)}.
+     */
+    void enforceCap(World limbo) {
+        int cap = config.getLimboAnchorCap();
+        if (cap <= 0 || anchors.size() <= cap) {
+            return;
+        }
+
+        Iterator<Long> oldestFirst = anchors.iterator();
+        while (anchors.size() > cap) {
+            long pos = oldestFirst.next();
+            oldestFirst.remove();
+            unindex(pos);
+            clearAnchor(limbo, pos);
+        }
+        saveLater();
+    }
+
+    /**
+     * Clears the anchors dropped while this chunk was not loaded.
+     */
+    void clearRemovals(Chunk chunk) {
+        if (removals.isEmpty()) {
+            return;
+        }
+        LongHashSet pending = removals.remove(ChunkKeyUtil.chunkKey(chunk.getX(), chunk.getZ()));
+        if (pending == null) {
+            return;
+        }
+        pending.forEach(pos -> clearIfAnchor(chunk.getBlock(unpackX(pos) & 15, unpackY(pos), unpackZ(pos) & 15)));
+        saveLater();
+    }
+
+    /**
+     * Clears the anchors waiting for chunks that are loaded already, such as chunks loaded
+     * before {@link #load()}.
+     */
+    void clearLoadedRemovals(World limbo) {
+        List<Long> loadedChunks = new ArrayList<>();
+        for (long chunkKey : removals.keySet()) {
+            if (limbo.isChunkLoaded(ChunkKeyUtil.getX(chunkKey), ChunkKeyUtil.getZ(chunkKey))) {
+                loadedChunks.add(chunkKey);
+            }
+        }
+        for (long chunkKey : loadedChunks) {
+            clearRemovals(limbo.getChunkAt(ChunkKeyUtil.getX(chunkKey), ChunkKeyUtil.getZ(chunkKey)));
+        }
+    }
+
+    /**
+     * @return {x, y, z} of the anchor closest to the position, or null if there are none
+     */
+    int[] nearest(int x, int y, int z) {
+        if (anchors.isEmpty()) {
+            return null;
+        }
+
+        int cellX = x >> CELL_SHIFT;
+        int cellZ = z >> CELL_SHIFT;
+        int lastRing = Math.max(
+                Math.max(Math.abs(cellX - minCellX), Math.abs(cellX - maxCellX)),
+                Math.max(Math.abs(cellZ - minCellZ), Math.abs(cellZ - maxCellZ)));
+
+        Nearest search = new Nearest(x, y, z);
+        for (int ring = 0; ring <= lastRing; ring++) {
+            if (ring > 0) {
+                // Anchors in this ring are at least this many blocks away on one axis
+                long gap = ((long) (ring - 1) << CELL_SHIFT) + 1;
+                if (gap * gap > search.distance) {
+                    break;
+                }
+            }
+
+            for (int dx = -ring; dx <= ring; dx++) {
+                for (int dz = -ring; dz <= ring; dz++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dz)) != ring) {
+                        continue;
+                    }
+                    LongHashSet cell = cells.get(ChunkKeyUtil.chunkKey(cellX + dx, cellZ + dz));
+                    if (cell != null) {
+                        cell.forEach(search::accept);
+                    }
+                }
+            }
+        }
+        return search.distance == Long.MAX_VALUE ? null
+                : new int[]{unpackX(search.best), unpackY(search.best), unpackZ(search.best)};
+    }
+
+    /**
+     * Cancels the pending save, saves now and waits for the write.
+     */
+    void stop() {
+        if (saveTask != null) {
+            saveTask.cancel();
+            saveTask = null;
+        }
+        if (loaded) {
+            store.save(snapshot(), removalSnapshot());
+        }
+        store.stop();
+    }
+
+    private boolean index(long pos) {
+        if (!anchors.add(pos)) {
+            return false;
+        }
+        int cellX = unpackX(pos) >> CELL_SHIFT;
+        int cellZ = unpackZ(pos) >> CELL_SHIFT;
+        cells.computeIfAbsent(ChunkKeyUtil.chunkKey(cellX, cellZ), key -> new LongHashSet()).add(pos);
+
+        minCellX = Math.min(minCellX, cellX);
+        maxCellX = Math.max(maxCellX, cellX);
+        minCellZ = Math.min(minCellZ, cellZ);
+        maxCellZ = Math.max(maxCellZ, cellZ);
+        return true;
+    }
+
+    private void unindex(long pos) {
+        long cellKey = ChunkKeyUtil.chunkKey(unpackX(pos) >> CELL_SHIFT, unpackZ(pos) >> CELL_SHIFT);
+        LongHashSet cell = cells.get(cellKey);
+        if (cell != null && cell.remove(pos) && cell.isEmpty()) {
+            cells.remove(cellKey);
+        }
+    }
+
+    private void clearAnchor(World limbo, long pos) {
+        int x = unpackX(pos);
+        int z = unpackZ(pos);
+        if (limbo.isChunkLoaded(x >> 4, z >> 4)) {
+            clearIfAnchor(limbo.getBlockAt(x, unpackY(pos), z));
+            return;
+        }
+        // A chunk that was never generated has nothing to clear
+        if (limbo.isChunkGenerated(x >> 4, z >> 4)) {
+            addRemoval(pos);
+        }
+    }
+
+    private void addRemoval(long pos) {
+        removals.computeIfAbsent(chunkKeyOf(pos), key -> new LongHashSet()).add(pos);
+    }
+
+    private static void clearIfAnchor(Block block) {
+        if (block.getType() == Material.RESPAWN_ANCHOR) {
+            block.setType(Material.AIR, false);
+        }
+    }
+
+    private void saveLater() {
+        if (saveTask != null) {
+            return;
+        }
+        saveTask = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            saveTask = null;
+            store.save(snapshot(), removalSnapshot());
+        }, SAVE_DELAY_TICKS);
+    }
+
+    private List<int[]> snapshot() {
+        List<int[]> snapshot = new ArrayList<>(anchors.size());
+        for (long pos : anchors) {
+            snapshot.add(new int[]{unpackX(pos), unpackY(pos), unpackZ(pos)});
+        }
+        return snapshot;
+    }
+
+    private List<int[]> removalSnapshot() {
+        List<int[]> snapshot = new ArrayList<>();
+        for (LongHashSet pending : removals.values()) {
+            pending.forEach(pos -> snapshot.add(new int[]{unpackX(pos), unpackY(pos), unpackZ(pos)}));
+        }
+        return snapshot;
+    }
+
+    private static long chunkKeyOf(long pos) {
+        return ChunkKeyUtil.chunkKey(unpackX(pos) >> 4, unpackZ(pos) >> 4);
+    }
+
+    // Same layout as the server's block positions: 26 bits x, 26 bits z, 12 bits y
+    private static long pack(int x, int y, int z) {
+        return (((long) x & 0x3FFFFFF) << 38) | (((long) z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static int unpackX(long pos) {
+        return (int) (pos >> 38);
+    }
+
+    private static int unpackY(long pos) {
+        return (int) (pos << 52 >> 52);
+    }
+
+    private static int unpackZ(long pos) {
+        return (int) (pos << 26 >> 38);
+    }
+
+    private static final class Nearest {
+        private final int x;
+        private final int y;
+        private final int z;
+        long best;
+        long distance = Long.MAX_VALUE;
+
+        Nearest(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        void accept(long pos) {
+            long dx = unpackX(pos) - x;
+            long dy = unpackY(pos) - y;
+            long dz = unpackZ(pos) - z;
+            long d = dx * dx + dy * dy + dz * dz;
+            if (d < distance) {
+                distance = d;
+                best = pos;
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.daytonjwatson.chunkfall.logic;
+
+import com.daytonjwatson.chunkfall.storage.ChunkState;
+import com.daytonjwatson.chunkfall.util.LatencyHistogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings of the plugin's hot paths and chunk outcome counters, shown by /chunkfall stats.
+ * Safe to record from any thread.
+ */
+public class ChunkFallStats {
+
+    public enum Timer {
+        CHUNK_LOAD("Chunk load"),
+        STRUCTURE_CHECK("Structure check"),
+        SPAWNER_CHECK("Spawner check"),
+        CHUNK_SCAN("Chunk scan (worker)"),
+        CHUNK_VOID("Chunk void"),
+        COBBLE_TICK("Cobble generator tick"),
+        COBBLE_ANIMATION("Cobble animation tick"),
+        LIMBO_ENTRY("Limbo entry");
+
+        private final String label;
+
+        Timer(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final Map<Timer, LatencyHistogram> timers = new EnumMap<>(Timer.class);
+    private final Map<ChunkState, LongAdder> chunkCounts = new EnumMap<>(ChunkState.class);
+
+    public ChunkFallStats() {
+        for (Timer timer : Timer.values()) {
+            timers.put(timer, new LatencyHistogram());
+        }
+        for (ChunkState state : ChunkState.values()) {
+            chunkCounts.put(state, new LongAdder());
+        }
+    }
+
+    /**
+     * @param startNanos value of System.nanoTime() when the timed work began
+     */
+    public void record(Timer timer, long startNanos) {
+        timers.get(timer).record(System.nanoTime() - startNanos);
+    }
+
+    public void countChunk(ChunkState state) {
+        chunkCounts.get(state).increment();
+    }
+
+    public LatencyHistogram getTimer(Timer timer) {
+        return timers.get(timer);
+    }
+
+    public long getChunkCount(ChunkState state) {
+        return chunkCounts.get(state).sum();
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : timers.values()) {
+            histogram.reset();
+        }
+        for (LongAdder counter : chunkCounts.values()) {
+            counter.reset();
+        }
+    }
+}
@@ -1,78 +1,406 @@
 package com.daytonjwatson.chunkfall.logic;
 
 import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.generator.IslandChunkGenerator;
+import com.daytonjwatson.chunkfall.storage.ChunkIndexManager;
+import com.daytonjwatson.chunkfall.storage.ChunkKeySet;
+import com.daytonjwatson.chunkfall.storage.ChunkState;
+import com.daytonjwatson.chunkfall.storage.PendingChunkStore;
+import com.daytonjwatson.chunkfall.storage.SpawnStore;
 import com.daytonjwatson.chunkfall.util.ChunkKeyUtil;
+import com.daytonjwatson.chunkfall.util.LongHashSet;
+import com.daytonjwatson.chunkfall.util.VoidPlan;
+import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.GameRule;
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.World.Environment;
-
-import java.util.HashSet;
-import java.util.Random;
-import java.util.Set;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 
 public class ChunkProcessor {
 
+    // How long onDisable may keep applying queued decisions before persisting the rest
+    private static final long SHUTDOWN_DRAIN_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final Plugin plugin;
     private final ChunkFallConfig config;
+    private final ChunkIndexManager chunkIndex;
+    private final ChunkFallStats stats;
+    private final IslandLayout islandLayout;
     private final OverworldProtection overworldProtection;
     private final NetherProtection netherProtection;
+    private final StructureProtection structureProtection;
+
+    private final ChunkKeySet processedChunks;
+
+    // Scans run on the worker pool; finished scans are applied on the main thread
+    private ExecutorService scanExecutor;
+    private final Queue<ScanResult> completedScans = new ConcurrentLinkedQueue<>();
+    // Decisions waiting for the per-tick budget, nearest to a player first
+    private final VoidQueue voidQueue = new VoidQueue();
+    // Decisions whose chunk unloaded before they could be applied; applied on the next load
+    private final Map<UUID, Map<Long, ScanResult>> pendingUnloaded = new HashMap<>();
+    private BukkitTask applyTask;
 
-    private final Set<Long> processedChunks = new HashSet<>();
+    // Chunks left unprocessed by the previous run; processed when they next load
+    private final PendingChunkStore pendingStore;
+    private Map<UUID, LongHashSet> resumeChunks = new HashMap<>();
+    // Chunks saved for the next run by stop(), plus any generated after it
+    private final Map<UUID, List<Long>> leftover = new HashMap<>();
 
-    public ChunkProcessor(ChunkFallConfig config) {
+    private final SpawnStore spawnStore;
+
+    public ChunkProcessor(Plugin plugin, ChunkFallConfig config, ChunkIndexManager chunkIndex, ChunkFallStats stats) {
+        this.plugin = plugin;
         this.config = config;
-        this.overworldProtection = new OverworldProtection(config);
+        this.chunkIndex = chunkIndex;
+        this.stats = stats;
+        this.islandLayout = new IslandLayout(config);
+        this.pendingStore = new PendingChunkStore(plugin);
+        this.spawnStore = new SpawnStore(plugin);
+        this.processedChunks = new ChunkKeySet(chunkIndex, config.getChunkCacheSize());
+        this.overworldProtection = new OverworldProtection(config, chunkIndex);
         this.netherProtection = new NetherProtection(config);
+        this.structureProtection = new StructureProtection(config);
+    }
+
+    public void start() {
+        AtomicInteger threadId = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "ChunkFall-Scan-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        scanExecutor = Executors.newFixedThreadPool(config.getChunkScanThreads(), threadFactory);
+        applyTask = Bukkit.getScheduler().runTaskTimer(plugin, this::applyCompletedScans, 1L, 1L);
+
+        resumeChunks = pendingStore.take();
+        if (!resumeChunks.isEmpty()) {
+            // Worlds are normally loaded after us; this only matters after a reload
+            for (World world : Bukkit.getWorlds()) {
+                if (config.isTargetWorld(world)) {
+                    for (Chunk chunk : world.getLoadedChunks()) {
+                        handleChunkReload(chunk);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for running scans and applies finished decisions for a few seconds before the
+     * plugin goes away. Whatever is left is saved and processed after the next start.
+     */
+    public void stop() {
+        if (applyTask != null) {
+            applyTask.cancel();
+            applyTask = null;
+        }
+
+        if (scanExecutor != null) {
+            scanExecutor.shutdown();
+            try {
+                if (!scanExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    plugin.getLogger().warning("[ChunkFall] Chunk scans still running at shutdown; some new chunks stay unprocessed.");
+                    scanExecutor.shutdownNow();
+                }
+            } catch (InterruptedException ex) {
+                scanExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            scanExecutor = null;
+        }
+
+        drainCompletedScans();
+        long deadline = System.nanoTime() + SHUTDOWN_DRAIN_NANOS;
+        while (!voidQueue.isEmpty() && System.nanoTime() < deadline) {
+            applyQueued(voidQueue.poll());
+        }
+
+        for (ScanResult result : voidQueue.drain()) {
+            leftover.computeIfAbsent(result.worldId, id -> new ArrayList<>())
+                    .add(ChunkKeyUtil.chunkKey(result.chunkX, result.chunkZ));
+        }
+        for (Map.Entry<UUID, Map<Long, ScanResult>> entry : pendingUnloaded.entrySet()) {
+            leftover.computeIfAbsent(entry.getKey(), id -> new ArrayList<>()).addAll(entry.getValue().keySet());
+        }
+        for (Map.Entry<UUID, LongHashSet> entry : resumeChunks.entrySet()) {
+            List<Long> keys = leftover.computeIfAbsent(entry.getKey(), id -> new ArrayList<>());
+            entry.getValue().forEach(keys::add);
+        }
+        pendingUnloaded.clear();
+        resumeChunks.clear();
+
+        if (!leftover.isEmpty()) {
+            int count = leftover.values().stream().mapToInt(List::size).sum();
+            plugin.getLogger().info("[ChunkFall] Saved " + count + " unprocessed chunks for the next start.");
+            pendingStore.save(leftover);
+        }
+    }
+
+    /**
+     * Called for chunks that are not newly generated. Applies a decision that was
+     * still waiting because the chunk unloaded while it was being scanned.
+     */
+    public void handleChunkReload(Chunk chunk) {
+        if (!resumeChunks.isEmpty()) {
+            LongHashSet resumeInWorld = resumeChunks.get(chunk.getWorld().getUID());
+            if (resumeInWorld != null && resumeInWorld.remove(ChunkKeyUtil.chunkKey(chunk.getX(), chunk.getZ()))) {
+                if (resumeInWorld.isEmpty()) {
+                    resumeChunks.remove(chunk.getWorld().getUID());
+                }
+                handleChunkLoad(chunk);
+                return;
+            }
+        }
+
+        if (pendingUnloaded.isEmpty()) {
+            return;
+        }
+        Map<Long, ScanResult> pendingInWorld = pendingUnloaded.get(chunk.getWorld().getUID());
+        if (pendingInWorld == null) {
+            return;
+        }
+        ScanResult pending = pendingInWorld.remove(ChunkKeyUtil.chunkKey(chunk.getX(), chunk.getZ()));
+        if (pendingInWorld.isEmpty()) {
+            pendingUnloaded.remove(chunk.getWorld().getUID());
+        }
+        if (pending != null) {
+            applyScan(chunk, pending);
+        }
     }
 
     public void handleChunkLoad(Chunk chunk) {
+        long start = System.nanoTime();
+        try {
+            processNewChunk(chunk);
+        } finally {
+            stats.record(ChunkFallStats.Timer.CHUNK_LOAD, start);
+        }
+    }
+
+    private void processNewChunk(Chunk chunk) {
         World world = chunk.getWorld();
         int cx = chunk.getX();
         int cz = chunk.getZ();
 
-        long key = ChunkKeyUtil.chunkKey(world, cx, cz);
-        if (!processedChunks.add(key)) {
+        // Generated while the plugin is disabling, after stop(): process it after the next start
+        if (scanExecutor == null) {
+            leftover.computeIfAbsent(world.getUID(), id -> new ArrayList<>()).add(ChunkKeyUtil.chunkKey(cx, cz));
+            pendingStore.save(leftover);
+            return;
+        }
+
+        if (!processedChunks.add(world, cx, cz)) {
             return; // already processed this chunk in this server run
         }
 
-        int regionX = Math.floorDiv(cx, config.getRegionSizeChunks());
-        int regionZ = Math.floorDiv(cz, config.getRegionSizeChunks());
-        int[] kept = getKeptChunkInRegion(world, regionX, regionZ);
+        // Decided in an earlier run (or protected ahead of time by a neighboring portal room)
+        if (chunkIndex.hasAny(world, cx, cz)) {
+            return;
+        }
 
         Environment env = world.getEnvironment();
 
-        // Overworld: protect End Portal + neighbors
-        if (env == Environment.NORMAL &&
-                overworldProtection.shouldProtectOverworldChunk(world, chunk, key)) {
+        boolean isKept = islandLayout.isKeptChunk(world.getSeed(), cx, cz);
+
+        // Island generator already produced an empty chunk; nothing left to clear
+        if (!isKept && world.getGenerator() instanceof IslandChunkGenerator generator
+                && generator.isUntouched(chunk)) {
+            recordState(world, cx, cz, ChunkState.VOIDED);
+            return;
+        }
+
+        // Portal rooms and fortress rooms are known from the chunk's structure data; no scan needed
+        long structureStart = System.nanoTime();
+        boolean inProtectedStructure = structureProtection.isProtected(chunk, env);
+        stats.record(ChunkFallStats.Timer.STRUCTURE_CHECK, structureStart);
+        if (inProtectedStructure) {
+            if (env == Environment.NORMAL) {
+                // Also protects the neighbors if configured
+                overworldProtection.shouldProtectOverworldChunk(world, cx, cz, true);
+                stats.countChunk(ChunkState.PROTECTED);
+            } else {
+                recordState(world, cx, cz, ChunkState.PROTECTED);
+            }
+            return;
+        }
+
+        // Spawners are tile entities, so this only looks at the few block entities of the chunk
+        if (env == Environment.NETHER) {
+            long spawnerStart = System.nanoTime();
+            boolean blazeSpawner = netherProtection.hasBlazeSpawner(chunk);
+            stats.record(ChunkFallStats.Timer.SPAWNER_CHECK, spawnerStart);
+            if (blazeSpawner) {
+                recordState(world, cx, cz, ChunkState.PROTECTED);
+                return;
+            }
+        }
+
+        // Nothing to clear in the island chunk, and its structures were checked above
+        if (isKept) {
+            recordState(world, cx, cz, ChunkState.ISLAND);
+            return;
+        }
+
+        // Scan a snapshot off the main thread; only the final write comes back here
+        ChunkSnapshot snapshot = chunk.getChunkSnapshot(false, false, false);
+        ScanResult result = new ScanResult(world.getUID(), cx, cz);
+        int minY = world.getMinHeight();
+        int maxY = world.getMaxHeight();
+
+        scanExecutor.execute(() -> {
+            long scanStart = System.nanoTime();
+            try {
+                result.scan = scan(env, snapshot, minY, maxY);
+                stats.record(ChunkFallStats.Timer.CHUNK_SCAN, scanStart);
+            } catch (RuntimeException ex) {
+                plugin.getLogger().log(Level.WARNING, "[ChunkFall] Chunk scan failed at " + cx + "," + cz, ex);
+            } finally {
+                completedScans.add(result);
+            }
+        });
+    }
+
+    /**
+     * Applies queued decisions until this tick's budget is used up, nearest to a player first.
+     * At least one decision is applied per tick so the queue always drains.
+     */
+    private void applyCompletedScans() {
+        drainCompletedScans();
+        if (voidQueue.isEmpty()) {
+            return;
+        }
+
+        // Re-keying the queue is charged to the same budget as applying decisions
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getVoidTickBudgetMs());
+        voidQueue.prioritize(deadline);
+        do {
+            applyQueued(voidQueue.poll());
+        } while (!voidQueue.isEmpty() && System.nanoTime() < deadline);
+    }
+
+    private void drainCompletedScans() {
+        ScanResult result;
+        while ((result = completedScans.poll()) != null) {
+            voidQueue.add(result);
+        }
+    }
+
+    private void applyQueued(ScanResult result) {
+        World world = Bukkit.getWorld(result.worldId);
+        if (world == null) {
+            return;
+        }
+
+        // Chunk unloaded while queued: decide again once it loads
+        if (!world.isChunkLoaded(result.chunkX, result.chunkZ)) {
+            result.scan = null; // stale once the chunk reloads
+            pendingUnloaded.computeIfAbsent(result.worldId, id -> new HashMap<>())
+                    .put(ChunkKeyUtil.chunkKey(result.chunkX, result.chunkZ), result);
             return;
         }
 
-        // Nether: protect blaze spawner / nether wart chunks
-        if (env == Environment.NETHER &&
-                netherProtection.shouldProtectNetherChunk(chunk)) {
+        applyScan(world.getChunkAt(result.chunkX, result.chunkZ), result);
+    }
+
+    private void applyScan(Chunk chunk, ScanResult result) {
+        World world = chunk.getWorld();
+        Environment env = world.getEnvironment();
+
+        // Scan failed, or the chunk unloaded and came back: scan it here instead
+        ChunkScanner.Result scan = result.scan;
+        if (scan == null) {
+            scan = scan(env, chunk.getChunkSnapshot(true, false, false),
+                    world.getMinHeight(), world.getMaxHeight());
+        }
+        boolean protect = scan.isProtected();
+
+        // Overworld: protect End Portal + neighbors (the index entry is written by OverworldProtection)
+        if (env == Environment.NORMAL &&
+                overworldProtection.shouldProtectOverworldChunk(world, result.chunkX, result.chunkZ, protect)) {
+            stats.countChunk(ChunkState.PROTECTED);
             return;
         }
 
-        // Keep the island chunk
-        if (cx == kept[0] && cz == kept[1]) {
+        // Nether: protect blaze spawner / nether wart chunks (and any other matched rule)
+        if (protect) {
+            recordState(world, result.chunkX, result.chunkZ, ChunkState.PROTECTED);
             return;
         }
 
         // Otherwise void the chunk (but optionally keep certain blocks)
-        makeChunkVoid(chunk);
+        long voidStart = System.nanoTime();
+        VoidPlan plan = scan.getVoidPlan();
+        plan.apply(chunk);
+        stats.record(ChunkFallStats.Timer.CHUNK_VOID, voidStart);
+        recordState(world, result.chunkX, result.chunkZ, ChunkState.VOIDED);
+    }
+
+    private void recordState(World world, int chunkX, int chunkZ, ChunkState state) {
+        chunkIndex.set(world, chunkX, chunkZ, state);
+        stats.countChunk(state);
+    }
+
+    /**
+     * One pass over the snapshot for every protection rule of the dimension and the blocks to clear.
+     * Safe off the main thread.
+     */
+    private ChunkScanner.Result scan(Environment env, ChunkSnapshot snapshot, int minY, int maxY) {
+        List<ProtectionRule> rules = switch (env) {
+            case NORMAL -> overworldProtection.getRules();
+            case NETHER -> netherProtection.getRules();
+            default -> List.of();
+        };
+        return ChunkScanner.scan(snapshot, minY, maxY, rules, config.getPreserveBlocks(env));
     }
 
+    /**
+     * Puts the world spawn on the island of region (0,0). Called once the server is running.
+     * The island chunk gets a plugin ticket so it stays loaded; adding the ticket loads it (on a
+     * fresh world, generates it) right away. A spawn stored by an earlier start is applied as is;
+     * otherwise it is computed from the loaded chunk and stored.
+     */
     public void ensureSpawnOnIsland(World world) {
         // Region (0,0) forced to keep chunk (0,0) so fresh worlds never spawn in void
-        int[] kept = getKeptChunkInRegion(world, 0, 0);
-        int keptChunkX = kept[0];
-        int keptChunkZ = kept[1];
+        long kept = islandLayout.getKeptChunk(world.getSeed(), 0, 0);
+        int keptChunkX = ChunkKeyUtil.getX(kept);
+        int keptChunkZ = ChunkKeyUtil.getZ(kept);
+
+        Location stored = spawnStore.load(world, kept);
+        if (stored != null) {
+            applySpawn(world, stored);
+        }
 
-        Chunk islandChunk = world.getChunkAt(keptChunkX, keptChunkZ);
-        islandChunk.load(true);
+        // Loads the island in this tick and keeps it loaded, so the first player to join does not wait for it
+        world.addPluginChunkTicket(keptChunkX, keptChunkZ, plugin);
+        if (stored != null) {
+            return;
+        }
+
+        Location spawnLoc = findSpawn(world, keptChunkX, keptChunkZ);
+        applySpawn(world, spawnLoc);
+        spawnStore.save(world, kept, spawnLoc);
+    }
 
+    private static Location findSpawn(World world, int keptChunkX, int keptChunkZ) {
         int blockX = (keptChunkX << 4) + 8;
         int blockZ = (keptChunkZ << 4) + 8;
 
@@ -82,78 +410,60 @@ public class ChunkProcessor {
             y = world.getMinHeight() + 64;
         }
 
-        int platformY = y;
-
-        Location spawnLoc = new Location(world, blockX + 0.5, platformY + 1, blockZ + 0.5);
-        world.setSpawnLocation(spawnLoc);
-
-        // Force players to spawn exactly at the spawn location, not within a random radius
-        world.setGameRule(GameRule.SPAWN_RADIUS, 0);
+        return new Location(world, blockX + 0.5, y + 1, blockZ + 0.5);
     }
 
-    private int[] getKeptChunkInRegion(World world, int regionX, int regionZ) {
-        // Special case: region (0,0) always keeps chunk (0,0) so fresh worlds never spawn in void
-        if (regionX == 0 && regionZ == 0) {
-            return new int[]{0, 0};
+    private static void applySpawn(World world, Location spawnLoc) {
+        Location current = world.getSpawnLocation();
+        if (current.getX() != spawnLoc.getX() || current.getY() != spawnLoc.getY() || current.getZ() != spawnLoc.getZ()) {
+            world.setSpawnLocation(spawnLoc);
         }
 
-        long seed = world.getSeed()
-                ^ (regionX * 341873128712L)
-                ^ (regionZ * 132897987541L);
-
-        Random random = new Random(seed);
-        int regionSize = config.getRegionSizeChunks();
-        int offsetX = random.nextInt(regionSize);
-        int offsetZ = random.nextInt(regionSize);
-
-        return new int[]{
-                regionX * regionSize + offsetX,
-                regionZ * regionSize + offsetZ
-        };
+        // Force players to spawn exactly at the spawn location, not within a random radius
+        Integer spawnRadius = world.getGameRuleValue(GameRule.SPAWN_RADIUS);
+        if (spawnRadius == null || spawnRadius != 0) {
+            world.setGameRule(GameRule.SPAWN_RADIUS, 0);
+        }
     }
 
     /**
-     * Void the chunk, but keep certain blocks depending on dimension.
-     * In the Nether we keep NETHER_BRICKS in otherwise-void chunks.
+     * Whether the given chunk is the island chunk of its region.
+     * Only depends on the seed and config, so it is safe to call from world generation threads.
      */
-    private void makeChunkVoid(Chunk chunk) {
-        World world = chunk.getWorld();
-        int minY = world.getMinHeight();
-        int maxY = world.getMaxHeight();
+    public boolean isKeptChunk(long seed, int chunkX, int chunkZ) {
+        return islandLayout.isKeptChunk(seed, chunkX, chunkZ);
+    }
 
-        Environment env = world.getEnvironment();
+    static final class ScanResult {
+        final UUID worldId;
+        final int chunkX;
+        final int chunkZ;
 
-        for (int x = 0; x < 16; x++) {
-            for (int z = 0; z < 16; z++) {
-                for (int y = minY; y < maxY; y++) {
-                    Material type = chunk.getBlock(x, y, z).getType();
+        // Written by the scan thread, read on the main thread after the queue hand-off
+        ChunkScanner.Result scan;
 
-                    // Decide whether to preserve this block when voiding
-                    if (shouldPreserveInVoid(env, type)) {
-                        continue; // leave the block as-is
-                    }
+        // Main thread only; squared chunk distance to the nearest player, see VoidQueue
+        long priority;
 
-                    // Otherwise, clear it
-                    chunk.getBlock(x, y, z).setType(Material.AIR, false);
-                }
-            }
+        ScanResult(UUID worldId, int chunkX, int chunkZ) {
+            this.worldId = worldId;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
         }
     }
 
     /**
-     * Decide which blocks to keep when voiding a chunk.
-     * Currently:
-     *  - Nether: keep NETHER_BRICKS
-     *  - Overworld/other: keep nothing
+     * Island chunk positions of the target worlds; cheap to query from any thread.
+     */
+    public IslandLayout getIslandLayout() {
+        return islandLayout;
+    }
+
+    /**
+     * Durable per-chunk states (voided / island / protected) for the target worlds.
      */
-    private boolean shouldPreserveInVoid(Environment env, Material type) {
-    	if (env == Environment.NETHER) {
-    	    return type == Material.NETHER_BRICKS
-    	        || type == Material.NETHER_BRICK_FENCE
-    	        || type == Material.NETHER_BRICK_STAIRS
-    	        || type == Material.NETHER_BRICK_SLAB;
-    	}
-        return false;
+    public ChunkIndexManager getChunkIndex() {
+        return chunkIndex;
     }
 
     public OverworldProtection getOverworldProtection() {
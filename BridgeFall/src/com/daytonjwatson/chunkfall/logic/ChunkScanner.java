@@ -0,0 +1,101 @@
+package com.daytonjwatson.chunkfall.logic;
+
+import com.daytonjwatson.chunkfall.util.MaterialSet;
+import com.daytonjwatson.chunkfall.util.VoidPlan;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a chunk snapshot once, checking every {@link ProtectionRule} and collecting the blocks
+ * to clear in the same pass. Rules are first asked from the section palettes, so a material
+ * that is not in the chunk costs no per-block work. Only reads the snapshot, so it is safe off
+ * the main thread.
+ *
+ * Only sections the snapshot reports as empty are skipped; every other section is read in full.
+ * The heightmap is not used, since blocks that do not block motion (flowers, torches, vines)
+ * can sit anywhere above it.
+ */
+public final class ChunkScanner {
+
+    private ChunkScanner() {
+    }
+
+    /**
+     * @param snapshot any snapshot; the heightmap is not needed
+     * @param rules    checked against the section palettes first, then per block if still undecided
+     * @param preserve blocks in this set are not cleared; null to skip building a void plan
+     */
+    public static Result scan(ChunkSnapshot snapshot, int minY, int maxY,
+                              List<ProtectionRule> rules, MaterialSet preserve) {
+        // Palettes first: absent materials drop out. A palette can list a state no block uses
+        // any more, so a hit only means the rule is checked in the block pass.
+        List<ProtectionRule> blockRules = new ArrayList<>(rules.size());
+        for (ProtectionRule rule : rules) {
+            if (rule.isPresent(snapshot)) {
+                blockRules.add(rule);
+            }
+        }
+
+        ProtectionRule[] ruleArray = blockRules.toArray(new ProtectionRule[0]);
+        VoidPlan plan = preserve != null ? new VoidPlan(minY, maxY) : null;
+
+        for (int sectionMinY = minY; sectionMinY < maxY; sectionMinY += 16) {
+            // Section index counts from the bottom of the world, not from y = 0
+            if (snapshot.isSectionEmpty((sectionMinY - minY) >> 4)) {
+                continue;
+            }
+            int sectionMaxY = Math.min(sectionMinY + 16, maxY);
+
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int y = sectionMinY; y < sectionMaxY; y++) {
+                        Material type = snapshot.getBlockType(x, y, z);
+                        if (type.isAir()) {
+                            continue;
+                        }
+
+                        for (ProtectionRule rule : ruleArray) {
+                            if (rule.matches(type)) {
+                                // Nothing else matters once the chunk is kept
+                                return new Result(true, null);
+                            }
+                        }
+
+                        if (plan != null && !preserve.contains(type)) {
+                            plan.mark(x, y, z);
+                        }
+                    }
+                }
+            }
+        }
+
+        return new Result(false, plan);
+    }
+
+    public static final class Result {
+        private final boolean isProtected;
+        private final VoidPlan voidPlan;
+
+        Result(boolean isProtected, VoidPlan voidPlan) {
+            this.isProtected = isProtected;
+            this.voidPlan = voidPlan;
+        }
+
+        /**
+         * True if a block of one of the rules was found.
+         */
+        public boolean isProtected() {
+            return isProtected;
+        }
+
+        /**
+         * Blocks to clear, or null if the chunk was protected during the scan or no plan was requested.
+         */
+        public VoidPlan getVoidPlan() {
+            return voidPlan;
+        }
+    }
+}
@@ -29,13 +29,15 @@ public class CobbleGeneratorAnimationManager {
 
     private final Plugin plugin;
     private final ChunkFallConfig config;
+    private final ChunkFallStats stats;
 
     private final Map<Location, AnimationState> animations = new HashMap<>();
     private BukkitTask task;
 
-    public CobbleGeneratorAnimationManager(Plugin plugin, ChunkFallConfig config) {
+    public CobbleGeneratorAnimationManager(Plugin plugin, ChunkFallConfig config, ChunkFallStats stats) {
         this.plugin = plugin;
         this.config = config;
+        this.stats = stats;
     }
 
     public void start() {
@@ -43,7 +45,11 @@ public class CobbleGeneratorAnimationManager {
             return;
         }
         int period = Math.max(1, config.getCobbleAnimationUpdateTicks());
-        task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, period, period);
+        task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            long start = System.nanoTime();
+            tick();
+            stats.record(ChunkFallStats.Timer.COBBLE_ANIMATION, start);
+        }, period, period);
     }
 
     public void stop() {
@@ -33,15 +33,17 @@ public class CobbleGeneratorManager {
 
     private final Plugin plugin;
     private final ChunkFallConfig config;
+    private final ChunkFallStats stats;
     private final CobbleGeneratorAnimationManager animationManager;
 
     private final Map<Location, CobbleGeneratorState> generators = new HashMap<>();
     private BukkitTask generatorTask;
 
-    public CobbleGeneratorManager(Plugin plugin, ChunkFallConfig config) {
+    public CobbleGeneratorManager(Plugin plugin, ChunkFallConfig config, ChunkFallStats stats) {
         this.plugin = plugin;
         this.config = config;
-        this.animationManager = new CobbleGeneratorAnimationManager(plugin, config);
+        this.stats = stats;
+        this.animationManager = new CobbleGeneratorAnimationManager(plugin, config, stats);
     }
 
     public void start() {
@@ -50,7 +52,11 @@ public class CobbleGeneratorManager {
         }
 
         long period = Math.max(1L, config.getCobbleGeneratorTicksPerCobble());
-        generatorTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tickGenerators, period, period);
+        generatorTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            long start = System.nanoTime();
+            tickGenerators();
+            stats.record(ChunkFallStats.Timer.COBBLE_TICK, start);
+        }, period, period);
         animationManager.start();
 
         plugin.getLogger().info("[ChunkFall] Cobblestone generator task started, base period=" + period + " ticks.");
@@ -381,53 +387,8 @@ public class CobbleGeneratorManager {
 
         MineResult result = new MineResult();
 
-        int chunkX = barrelX >> 4;
-        int chunkZ = barrelZ >> 4;
-        int chunkMinX = chunkX << 4;
-        int chunkMinZ = chunkZ << 4;
-        int chunkMaxX = chunkMinX + 15;
-        int chunkMaxZ = chunkMinZ + 15;
-
-        int minY = world.getMinHeight();
-        int maxY = world.getMaxHeight() - 1;
-
         int maxYRange = Math.max(1, config.getCobbleVerticalSearchRange());
-
-        Block bestBlock = null;
-        int bestDistSq = Integer.MAX_VALUE;
-
-        for (int dy = 0; dy <= maxYRange; dy++) {
-            int[] ys = {barrelY + dy, barrelY - dy};
-
-            for (int y : ys) {
-                if (y < minY || y > maxY) {
-                    continue;
-                }
-
-                for (int x = chunkMinX; x <= chunkMaxX; x++) {
-                    for (int z = chunkMinZ; z <= chunkMaxZ; z++) {
-                        Block candidate = world.getBlockAt(x, y, z);
-                        if (candidate.getType() != Material.STONE) {
-                            continue;
-                        }
-
-                        int dx = x - barrelX;
-                        int dz = z - barrelZ;
-                        int dy2 = y - barrelY;
-                        int distSq = dx * dx + dy2 * dy2 + dz * dz;
-
-                        if (distSq < bestDistSq) {
-                            bestDistSq = distSq;
-                            bestBlock = candidate;
-                        }
-                    }
-                }
-            }
-
-            if (bestBlock != null) {
-                break;
-            }
-        }
+        Block bestBlock = StoneSearch.findNearest(world, barrelX, barrelY, barrelZ, maxYRange);
 
         if (bestBlock == null) {
             return result;
@@ -0,0 +1,166 @@
+package com.daytonjwatson.chunkfall.logic;
+
+import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.util.ChunkKeyUtil;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Picks the island (kept) chunk of each region from the world seed and caches the result.
+ * Results are packed chunk keys (see {@link ChunkKeyUtil}). Lookups do not allocate and are
+ * safe from any thread, including world generation.
+ */
+public class IslandLayout {
+
+    public enum Picker {
+        /** Same layout as the original java.util.Random picker, computed without allocating. */
+        LEGACY,
+        /** Stateless hash; a different layout, so only for new worlds. */
+        HASH
+    }
+
+    private static final int CACHE_SIZE = 1024; // power of two
+    private static final int SEED_CACHES = 4;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    // java.util.Random LCG constants
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private final int regionSize;
+    private final Picker picker;
+
+    // One cache per seed, oldest replaced first. Overworld and nether normally share theirs;
+    // Limbo and API callers asking about other worlds get their own instead of evicting it
+    private final AtomicReferenceArray<SeedCache> caches = new AtomicReferenceArray<>(SEED_CACHES);
+    private final AtomicInteger nextCache = new AtomicInteger();
+
+    public IslandLayout(ChunkFallConfig config) {
+        this.regionSize = config.getRegionSizeChunks();
+        this.picker = config.getIslandPicker();
+    }
+
+    public int getRegionSize() {
+        return regionSize;
+    }
+
+    public int regionOf(int chunkCoord) {
+        return Math.floorDiv(chunkCoord, regionSize);
+    }
+
+    public boolean isKeptChunk(long seed, int chunkX, int chunkZ) {
+        long kept = getKeptChunk(seed, regionOf(chunkX), regionOf(chunkZ));
+        return kept == ChunkKeyUtil.chunkKey(chunkX, chunkZ);
+    }
+
+    /**
+     * @return packed chunk key of the island chunk in this region
+     */
+    public long getKeptChunk(long seed, int regionX, int regionZ) {
+        SeedCache current = cacheFor(seed);
+        int slot = slot(regionX, regionZ);
+        long cached = current.entries.get(slot);
+        // A slot is only valid for the region its kept chunk lies in
+        if (cached != EMPTY
+                && regionOf(ChunkKeyUtil.getX(cached)) == regionX
+                && regionOf(ChunkKeyUtil.getZ(cached)) == regionZ) {
+            return cached;
+        }
+
+        long kept = computeKeptChunk(seed, regionX, regionZ);
+        current.entries.set(slot, kept);
+        return kept;
+    }
+
+    private SeedCache cacheFor(long seed) {
+        for (int i = 0; i < SEED_CACHES; i++) {
+            SeedCache cache = caches.get(i);
+            if (cache != null && cache.seed == seed) {
+                return cache;
+            }
+        }
+        // Two threads may both add the same seed; the extra cache is just replaced earlier
+        SeedCache cache = new SeedCache(seed);
+        caches.set(Math.floorMod(nextCache.getAndIncrement(), SEED_CACHES), cache);
+        return cache;
+    }
+
+    long computeKeptChunk(long worldSeed, int regionX, int regionZ) {
+        // Special case: region (0,0) always keeps chunk (0,0) so fresh worlds never spawn in void
+        if (regionX == 0 && regionZ == 0) {
+            return ChunkKeyUtil.chunkKey(0, 0);
+        }
+
+        int offsetX;
+        int offsetZ;
+
+        if (picker == Picker.HASH) {
+            long h = mix(worldSeed ^ (regionX * 0x9E3779B97F4A7C15L) ^ (regionZ * 0xC2B2AE3D27D4EB4FL));
+            offsetX = (int) (((h >>> 32) * regionSize) >>> 32);
+            offsetZ = (int) (((h & 0xffffffffL) * regionSize) >>> 32);
+        } else {
+            long seed = worldSeed
+                    ^ (regionX * 341873128712L)
+                    ^ (regionZ * 132897987541L);
+
+            // Inlined new Random(seed).nextInt(regionSize) twice
+            long state = (seed ^ MULTIPLIER) & MASK;
+            state = (state * MULTIPLIER + ADDEND) & MASK;
+            offsetX = boundedLegacy(state);
+            while (offsetX < 0) {
+                state = (state * MULTIPLIER + ADDEND) & MASK;
+                offsetX = boundedLegacy(state);
+            }
+            state = (state * MULTIPLIER + ADDEND) & MASK;
+            offsetZ = boundedLegacy(state);
+            while (offsetZ < 0) {
+                state = (state * MULTIPLIER + ADDEND) & MASK;
+                offsetZ = boundedLegacy(state);
+            }
+        }
+
+        return ChunkKeyUtil.chunkKey(
+                regionX * regionSize + offsetX,
+                regionZ * regionSize + offsetZ
+        );
+    }
+
+    /**
+     * One step of Random.nextInt(bound) for the given state, or -1 if Random would reject it and draw again.
+     */
+    private int boundedLegacy(long state) {
+        int r = (int) (state >>> 17); // next(31)
+        int m = regionSize - 1;
+        if ((regionSize & m) == 0) {
+            return (int) ((regionSize * (long) r) >> 31);
+        }
+        int value = r % regionSize;
+        return r - value + m < 0 ? -1 : value;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int slot(int regionX, int regionZ) {
+        int h = regionX * 0x9E3779B1 + regionZ * 0x85EBCA6B;
+        return (h ^ (h >>> 15)) & (CACHE_SIZE - 1);
+    }
+
+    private static final class SeedCache {
+        final long seed;
+        final AtomicLongArray entries = new AtomicLongArray(CACHE_SIZE);
+
+        SeedCache(long seed) {
+            this.seed = seed;
+            for (int i = 0; i < CACHE_SIZE; i++) {
+                entries.set(i, EMPTY);
+            }
+        }
+    }
+}
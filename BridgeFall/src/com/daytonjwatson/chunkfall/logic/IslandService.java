@@ -0,0 +1,154 @@
+package com.daytonjwatson.chunkfall.logic;
+
+import com.daytonjwatson.chunkfall.api.ChunkFallIslands;
+import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.util.ChunkKeyUtil;
+import org.bukkit.World;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * {@link ChunkFallIslands} backed by the processor's {@link IslandLayout}.
+ */
+public class IslandService implements ChunkFallIslands {
+
+    private final ChunkFallConfig config;
+    private final IslandLayout layout;
+
+    public IslandService(ChunkFallConfig config, IslandLayout layout) {
+        this.config = config;
+        this.layout = layout;
+    }
+
+    @Override
+    public boolean isIslandWorld(World world) {
+        return config.isTargetWorld(world);
+    }
+
+    @Override
+    public int getRegionSize() {
+        return layout.getRegionSize();
+    }
+
+    @Override
+    public boolean isKeptChunk(World world, int chunkX, int chunkZ) {
+        return layout.isKeptChunk(world.getSeed(), chunkX, chunkZ);
+    }
+
+    @Override
+    public long getIslandChunk(World world, int regionX, int regionZ) {
+        return layout.getKeptChunk(world.getSeed(), regionX, regionZ);
+    }
+
+    @Override
+    public long getNearestIsland(World world, int chunkX, int chunkZ) {
+        long seed = world.getSeed();
+        int regionSize = layout.getRegionSize();
+        int regionX = layout.regionOf(chunkX);
+        int regionZ = layout.regionOf(chunkZ);
+
+        long nearest = 0;
+        long nearestDistance = Long.MAX_VALUE;
+        for (int ring = 0; ; ring++) {
+            if (ring > 0) {
+                // Regions in this ring are at least this many chunks away on one axis
+                long gap = (long) (ring - 1) * regionSize + 1;
+                if (gap * gap > nearestDistance) {
+                    return nearest;
+                }
+            }
+
+            for (int dx = -ring; dx <= ring; dx++) {
+                for (int dz = -ring; dz <= ring; dz++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dz)) != ring) {
+                        continue;
+                    }
+                    long island = layout.getKeptChunk(seed, regionX + dx, regionZ + dz);
+                    long ix = ChunkKeyUtil.getX(island) - (long) chunkX;
+                    long iz = ChunkKeyUtil.getZ(island) - (long) chunkZ;
+                    long distance = ix * ix + iz * iz;
+                    if (distance < nearestDistance) {
+                        nearestDistance = distance;
+                        nearest = island;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong islandsIn(World world, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        return new BoxIterator(world.getSeed(),
+                Math.min(minChunkX, maxChunkX), Math.min(minChunkZ, maxChunkZ),
+                Math.max(minChunkX, maxChunkX), Math.max(minChunkZ, maxChunkZ));
+    }
+
+    /**
+     * Walks the regions overlapping the box and yields their island chunks that fall inside it.
+     * Bypasses the layout cache so a large walk does not evict the entries chunk generation uses.
+     */
+    private final class BoxIterator implements PrimitiveIterator.OfLong {
+        private final long seed;
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int maxChunkX;
+        private final int maxChunkZ;
+        private final int minRegionZ;
+        private final int maxRegionX;
+        private final int maxRegionZ;
+
+        private int regionX;
+        private int regionZ;
+        private long next;
+        private boolean hasNext;
+
+        BoxIterator(long seed, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+            this.seed = seed;
+            this.minChunkX = minChunkX;
+            this.minChunkZ = minChunkZ;
+            this.maxChunkX = maxChunkX;
+            this.maxChunkZ = maxChunkZ;
+            this.minRegionZ = layout.regionOf(minChunkZ);
+            this.maxRegionX = layout.regionOf(maxChunkX);
+            this.maxRegionZ = layout.regionOf(maxChunkZ);
+            this.regionX = layout.regionOf(minChunkX);
+            this.regionZ = minRegionZ;
+            advance();
+        }
+
+        private void advance() {
+            hasNext = false;
+            while (regionX <= maxRegionX) {
+                long island = layout.computeKeptChunk(seed, regionX, regionZ);
+                if (regionZ++ == maxRegionZ) {
+                    regionZ = minRegionZ;
+                    regionX++;
+                }
+
+                int x = ChunkKeyUtil.getX(island);
+                int z = ChunkKeyUtil.getZ(island);
+                if (x >= minChunkX && x <= maxChunkX && z >= minChunkZ && z <= maxChunkZ) {
+                    next = island;
+                    hasNext = true;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            long island = next;
+            advance();
+            return island;
+        }
+    }
+}
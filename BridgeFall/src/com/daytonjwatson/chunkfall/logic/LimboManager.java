@@ -1,8 +1,11 @@
 package com.daytonjwatson.chunkfall.logic;
 
 import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.generator.VoidChunkGenerator;
+import com.daytonjwatson.chunkfall.storage.LimboStateStore;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
+import org.bukkit.Chunk;
 import org.bukkit.Difficulty;
 import org.bukkit.GameRule;
 import org.bukkit.Location;
@@ -10,15 +13,27 @@ import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.WorldCreator;
 import org.bukkit.block.Block;
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 public class LimboManager {
 
+    private final Plugin plugin;
     private final ChunkFallConfig config;
+    private final ChunkFallStats stats;
     private final Random random = new Random();
+    private final LimboStateStore stateStore;
+    private final AnchorRegistry anchorRegistry;
+    private final AnchorPlacer anchorPlacer;
+
+    // Set up once on first use; cleared if the world unloads
+    private World limboWorld;
 
     // Must match LimboListener’s platform definition
     private static final int PLATFORM_CENTER_X = 1;
@@ -26,8 +41,13 @@ public class LimboManager {
     private static final int PLATFORM_HALF_SIZE_NEG = 4; // center-4
     private static final int PLATFORM_HALF_SIZE_POS = 5; // center+5
 
-    public LimboManager(ChunkFallConfig config) {
+    public LimboManager(Plugin plugin, ChunkFallConfig config, ChunkFallStats stats) {
+        this.plugin = plugin;
         this.config = config;
+        this.stats = stats;
+        this.stateStore = new LimboStateStore(plugin);
+        this.anchorRegistry = new AnchorRegistry(plugin, config);
+        this.anchorPlacer = new AnchorPlacer(plugin, anchorRegistry);
     }
 
     private boolean isInPlatformColumn(int x, int z) {
@@ -39,13 +59,35 @@ public class LimboManager {
         return x >= minX && x <= maxX && z >= minZ && z <= maxZ;
     }
 
+    /**
+     * Loads and sets up Limbo ahead of the first player, so entering it stays cheap.
+     */
+    public void init() {
+        stateStore.load();
+        anchorRegistry.load();
+        World limbo = getOrCreateLimboWorld();
+        if (limbo != null) {
+            // The cap may have been lowered since the anchors were placed
+            anchorRegistry.enforceCap(limbo);
+            // Chunks that loaded before the registry did never reported their loads
+            anchorRegistry.clearLoadedRemovals(limbo);
+        }
+    }
+
     /**
      * Returns the Limbo world, creating it if it does not exist.
-     * Also enforces:
+     * Limbo is loaded with the void generator, so an existing Limbo keeps its built chunks
+     * and only new chunks come out empty.
+     * The first call also enforces:
      *  - Always night
      *  - No mob spawning
+     *  - Platform chunks kept loaded and the platform in place
      */
     public World getOrCreateLimboWorld() {
+        if (limboWorld != null) {
+            return limboWorld;
+        }
+
         String name = config.getLimboWorldName();
         World world = Bukkit.getWorld(name);
 
@@ -53,6 +95,7 @@ public class LimboManager {
             WorldCreator creator = new WorldCreator(name);
             creator.environment(World.Environment.NORMAL);
             creator.generateStructures(false);
+            creator.generator(new VoidChunkGenerator());
 
             world = creator.createWorld();
         }
@@ -65,13 +108,117 @@ public class LimboManager {
             // No monsters
             world.setGameRule(GameRule.DO_MOB_SPAWNING, false);
             world.setDifficulty(Difficulty.PEACEFUL);
+
+            keepPlatformLoaded(world);
+            ensurePlatform(world);
+            limboWorld = world;
         }
 
         return world;
     }
 
+    /**
+     * Drops anchor placements that have not finished, saves the anchor registry and
+     * finishes the player state log.
+     */
+    public void stop() {
+        anchorPlacer.stop();
+        anchorRegistry.stop();
+        stateStore.stop();
+    }
+
+    /**
+     * Per-player pending respawns.
+     */
+    public LimboStateStore getStateStore() {
+        return stateStore;
+    }
+
+    public int getAnchorCount() {
+        return anchorRegistry.size();
+    }
+
+    /**
+     * Closest tracked anchor to the location, skipping (and forgetting) anchors that turn out
+     * to be gone from loaded chunks.
+     *
+     * @return the anchor block location, or null if Limbo has no tracked anchors
+     */
+    public Location findNearestAnchor(Location from) {
+        World limbo = getOrCreateLimboWorld();
+        if (limbo == null) {
+            return null;
+        }
+
+        while (true) {
+            int[] pos = anchorRegistry.nearest(from.getBlockX(), from.getBlockY(), from.getBlockZ());
+            if (pos == null) {
+                return null;
+            }
+            if (limbo.isChunkLoaded(pos[0] >> 4, pos[2] >> 4)
+                    && limbo.getBlockAt(pos[0], pos[1], pos[2]).getType() != Material.RESPAWN_ANCHOR) {
+                anchorRegistry.remove(pos[0], pos[1], pos[2]);
+                continue;
+            }
+            return new Location(limbo, pos[0], pos[1], pos[2]);
+        }
+    }
+
+    /**
+     * Clears anchors that were dropped over the cap while this Limbo chunk was not loaded.
+     */
+    public void handleChunkLoad(Chunk chunk) {
+        anchorRegistry.clearRemovals(chunk);
+    }
+
+    /**
+     * Stops tracking an anchor that was removed from the world.
+     */
+    public void forgetAnchor(Block anchorBlock) {
+        anchorRegistry.remove(anchorBlock.getX(), anchorBlock.getY(), anchorBlock.getZ());
+    }
+
     public World getLimboWorld() {
-        return Bukkit.getWorld(config.getLimboWorldName());
+        return limboWorld != null ? limboWorld : Bukkit.getWorld(config.getLimboWorldName());
+    }
+
+    /**
+     * Forgets the cached Limbo when it unloads, so the next use loads and sets it up again.
+     */
+    public void handleWorldUnload(World world) {
+        if (world == limboWorld) {
+            limboWorld = null;
+        }
+    }
+
+    private void keepPlatformLoaded(World limbo) {
+        int minChunkX = (PLATFORM_CENTER_X - PLATFORM_HALF_SIZE_NEG) >> 4;
+        int maxChunkX = (PLATFORM_CENTER_X + PLATFORM_HALF_SIZE_POS) >> 4;
+        int minChunkZ = (PLATFORM_CENTER_Z - PLATFORM_HALF_SIZE_NEG) >> 4;
+        int maxChunkZ = (PLATFORM_CENTER_Z + PLATFORM_HALF_SIZE_POS) >> 4;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                limbo.addPluginChunkTicket(chunkX, chunkZ, plugin);
+            }
+        }
+    }
+
+    /**
+     * Puts back any missing block of the 10x10 bedrock platform centered at (1,1).
+     * Reading the blocks is cheap; only damaged ones are written.
+     */
+    private void ensurePlatform(World limbo) {
+        int bedrockY = config.getLimboBedrockY();
+
+        for (int x = PLATFORM_CENTER_X - PLATFORM_HALF_SIZE_NEG; x <= PLATFORM_CENTER_X + PLATFORM_HALF_SIZE_POS; x++) {
+            for (int z = PLATFORM_CENTER_Z - PLATFORM_HALF_SIZE_NEG; z <= PLATFORM_CENTER_Z + PLATFORM_HALF_SIZE_POS; z++) {
+                Block bedrock = limbo.getBlockAt(x, bedrockY, z);
+                if (bedrock.getType() != Material.BEDROCK) {
+                    bedrock.setType(Material.BEDROCK, false);
+                }
+            }
+        }
     }
 
     // Default behavior when coming from main world
@@ -84,6 +231,15 @@ public class LimboManager {
      * @param spawnAnchors if true, spawn new random anchors; if false, do not.
      */
     public void sendPlayerToLimbo(Player player, boolean spawnAnchors) {
+        long start = System.nanoTime();
+        try {
+            enterLimbo(player, spawnAnchors);
+        } finally {
+            stats.record(ChunkFallStats.Timer.LIMBO_ENTRY, start);
+        }
+    }
+
+    private void enterLimbo(Player player, boolean spawnAnchors) {
         World limbo = getOrCreateLimboWorld();
         if (limbo == null) {
             return;
@@ -91,16 +247,8 @@ public class LimboManager {
 
         int bedrockY = config.getLimboBedrockY();
 
-        // Ensure spawn chunk is loaded
-        limbo.getChunkAt(0, 0).load(true);
-
-        // 10x10 bedrock platform centered at (1,1)
-        for (int x = PLATFORM_CENTER_X - PLATFORM_HALF_SIZE_NEG; x <= PLATFORM_CENTER_X + PLATFORM_HALF_SIZE_POS; x++) {
-            for (int z = PLATFORM_CENTER_Z - PLATFORM_HALF_SIZE_NEG; z <= PLATFORM_CENTER_Z + PLATFORM_HALF_SIZE_POS; z++) {
-                Block bedrock = limbo.getBlockAt(x, bedrockY, z);
-                bedrock.setType(Material.BEDROCK, false);
-            }
-        }
+        // Platform chunks are held loaded by the ticket from setup
+        ensurePlatform(limbo);
 
         // Teleport player above the center of the platform
         Location spawnLoc = new Location(
@@ -119,12 +267,19 @@ public class LimboManager {
         );
 
         if (spawnAnchors) {
-            spawnRandomAnchors(limbo, config.getLimboAnchorsPerEntry());
+            spawnRandomAnchors(limbo, config.getLimboAnchorsPerEntry(), null);
             Bukkit.broadcastMessage(ChatColor.RED + player.getName() + " has been sent to Limbo!");
         }
     }
 
-    public void spawnRandomAnchors(World limbo, int count) {
+    /**
+     * Picks random anchor positions and queues them; chunks that are not loaded yet are
+     * loaded over the next ticks.
+     *
+     * @param reportTo told how many anchors were placed once all are in; may be null
+     */
+    public void spawnRandomAnchors(World limbo, int count, CommandSender reportTo) {
+        List<int[]> positions = new ArrayList<>(count);
         int minY = config.getLimboAnchorMinY();
         int maxY = config.getLimboAnchorMaxY();
         int radius = config.getLimboAnchorRadius();
@@ -150,15 +305,15 @@ public class LimboManager {
             }
 
             int y = minY + random.nextInt(Math.max(1, maxY - minY + 1));
-
-            limbo.getChunkAt(x >> 4, z >> 4).load(true);
-            Block block = limbo.getBlockAt(x, y, z);
-            block.setType(Material.RESPAWN_ANCHOR, false);
+            positions.add(new int[]{x, y, z});
         }
+
+        anchorPlacer.submit(limbo, positions, reportTo);
     }
 
     public void useRespawnAnchor(Player player, Block anchorBlock) {
         anchorBlock.setType(Material.AIR, false);
+        forgetAnchor(anchorBlock);
 
         World main = Bukkit.getWorld(config.getTargetWorldName());
         if (main == null) {
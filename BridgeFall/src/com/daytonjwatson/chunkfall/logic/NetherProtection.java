@@ -3,51 +3,46 @@ package com.daytonjwatson.chunkfall.logic;
 import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
 import org.bukkit.Chunk;
 import org.bukkit.Material;
-import org.bukkit.World;
-import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.CreatureSpawner;
 import org.bukkit.entity.EntityType;
 
+import java.util.List;
+
 public class NetherProtection {
 
     private final ChunkFallConfig config;
 
+    private final List<ProtectionRule> rules = List.of(
+            ProtectionRule.present(Material.NETHER_WART)
+    );
+
     public NetherProtection(ChunkFallConfig config) {
         this.config = config;
     }
 
-    public boolean shouldProtectNetherChunk(Chunk chunk) {
-        if (!config.isProtectNetherFortressEssentials()) {
-            return false;
-        }
-        return chunkHasBlazeSpawnerOrNetherWart(chunk);
+    public boolean isEnabled() {
+        return config.isProtectNetherFortressEssentials();
     }
 
-    private boolean chunkHasBlazeSpawnerOrNetherWart(Chunk chunk) {
-        World world = chunk.getWorld();
-        int minY = world.getMinHeight();
-        int maxY = world.getMaxHeight();
-
-        for (int x = 0; x < 16; x++) {
-            for (int z = 0; z < 16; z++) {
-                for (int y = minY; y < maxY; y++) {
-                    Block block = chunk.getBlock(x, y, z);
-                    Material type = block.getType();
-
-                    if (type == Material.NETHER_WART) {
-                        return true;
-                    }
-
-                    if (type == Material.SPAWNER) {
-                        BlockState state = block.getState();
-                        if (state instanceof CreatureSpawner spawner) {
-                            if (spawner.getSpawnedType() == EntityType.BLAZE) {
-                                return true;
-                            }
-                        }
-                    }
-                }
+    /**
+     * Rules for {@link ChunkScanner}; empty when protection is disabled.
+     * Blaze spawners are checked separately with {@link #hasBlazeSpawner(Chunk)}.
+     */
+    public List<ProtectionRule> getRules() {
+        return isEnabled() ? rules : List.of();
+    }
+
+    /**
+     * Main thread only. Looks at the chunk's tile entities, so the cost does not depend on chunk size.
+     */
+    public boolean hasBlazeSpawner(Chunk chunk) {
+        if (!isEnabled()) {
+            return false;
+        }
+        for (BlockState state : chunk.getTileEntities()) {
+            if (state instanceof CreatureSpawner spawner && spawner.getSpawnedType() == EntityType.BLAZE) {
+                return true;
             }
         }
         return false;
@@ -1,39 +1,61 @@
 package com.daytonjwatson.chunkfall.logic;
 
 import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
-import com.daytonjwatson.chunkfall.util.ChunkKeyUtil;
-import org.bukkit.Chunk;
+import com.daytonjwatson.chunkfall.storage.ChunkIndexManager;
+import com.daytonjwatson.chunkfall.storage.ChunkKeySet;
+import com.daytonjwatson.chunkfall.storage.ChunkState;
 import org.bukkit.Material;
 import org.bukkit.World;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 
 public class OverworldProtection {
 
     private final ChunkFallConfig config;
-    private final Set<Long> protectedChunks = new HashSet<>();
+    private final ChunkIndexManager chunkIndex;
+    private final ChunkKeySet protectedChunks;
 
-    public OverworldProtection(ChunkFallConfig config) {
+    private final List<ProtectionRule> rules = List.of(
+            ProtectionRule.present(Material.END_PORTAL_FRAME)
+    );
+
+    public OverworldProtection(ChunkFallConfig config, ChunkIndexManager chunkIndex) {
         this.config = config;
+        this.chunkIndex = chunkIndex;
+        this.protectedChunks = new ChunkKeySet(chunkIndex, config.getChunkCacheSize());
+    }
+
+    public boolean isEnabled() {
+        return config.isProtectEndPortalRoom();
     }
 
-    public boolean shouldProtectOverworldChunk(World world, Chunk chunk, long key) {
-        if (!config.isProtectEndPortalRoom()) {
+    /**
+     * Rules for {@link ChunkScanner}; empty when protection is disabled.
+     */
+    public List<ProtectionRule> getRules() {
+        return isEnabled() ? rules : List.of();
+    }
+
+    /**
+     * Main thread only. Takes whether the scan of this chunk matched {@link #getRules()}.
+     */
+    public boolean shouldProtectOverworldChunk(World world, int cx, int cz, boolean hasEndPortalFrame) {
+        if (!isEnabled()) {
             return false;
         }
 
         // Already marked protected (e.g. neighbor of portal chunk)
-        if (protectedChunks.contains(key)) {
+        if (protectedChunks.contains(world, cx, cz)
+                || chunkIndex.has(world, cx, cz, ChunkState.PROTECTED)) {
             return true;
         }
 
-        // Check for END_PORTAL_FRAME in this chunk
-        if (chunkHasEndPortalFrame(chunk)) {
-            protectedChunks.add(key);
+        if (hasEndPortalFrame) {
+            protectedChunks.add(world, cx, cz);
+            chunkIndex.set(world, cx, cz, ChunkState.PROTECTED);
 
             if (config.isProtectEndPortalNeighbors()) {
-                markNeighborChunksProtected(world, chunk.getX(), chunk.getZ());
+                markNeighborChunksProtected(world, cx, cz);
             }
             return true;
         }
@@ -41,23 +63,6 @@ public class OverworldProtection {
         return false;
     }
 
-    private boolean chunkHasEndPortalFrame(Chunk chunk) {
-        World world = chunk.getWorld();
-        int minY = world.getMinHeight();
-        int maxY = world.getMaxHeight();
-
-        for (int x = 0; x < 16; x++) {
-            for (int z = 0; z < 16; z++) {
-                for (int y = minY; y < maxY; y++) {
-                    if (chunk.getBlock(x, y, z).getType() == Material.END_PORTAL_FRAME) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
-    }
-
     private void markNeighborChunksProtected(World world, int cx, int cz) {
         for (int dx = -1; dx <= 1; dx++) {
             for (int dz = -1; dz <= 1; dz++) {
@@ -66,8 +71,9 @@ public class OverworldProtection {
                 }
                 int nx = cx + dx;
                 int nz = cz + dz;
-                long nKey = ChunkKeyUtil.chunkKey(world, nx, nz);
-                protectedChunks.add(nKey);
+                protectedChunks.add(world, nx, nz);
+                // Neighbors that have not generated yet are skipped on load through the index
+                chunkIndex.set(world, nx, nz, ChunkState.PROTECTED);
             }
         }
     }
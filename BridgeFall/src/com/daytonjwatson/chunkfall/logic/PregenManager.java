@@ -0,0 +1,417 @@
+package com.daytonjwatson.chunkfall.logic;
+
+import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import com.daytonjwatson.chunkfall.storage.ChunkIndexManager;
+import com.daytonjwatson.chunkfall.util.MessageUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Pre-generates a square around chunk (0,0) of a target world, one 32x32 chunk region at a
+ * time in spiral order. Generated chunks go through the normal {@link ChunkProcessor} pipeline
+ * (worker pool scans, budgeted main thread writes) and are held with a plugin chunk ticket
+ * until their state is in the chunk index. Chunks are generated on the main thread, at most
+ * pregen-chunks-per-tick per tick, and generation waits while more than
+ * {@link #MAX_IN_FLIGHT_TICKS} ticks' worth of them are still held.
+ *
+ * Progress is saved to pregen.yml so a run survives restarts; a resumed run repeats the regions
+ * that still had chunks in flight, and chunks that already exist are skipped without loading them.
+ */
+public class PregenManager {
+
+    private static final String FILE_NAME = "pregen.yml";
+    private static final int REGION_SHIFT = 5; // 32x32 chunks, same as the chunk index pages
+    private static final int REGION_CHUNKS = 1 << REGION_SHIFT;
+
+    private static final long REPORT_INTERVAL_TICKS = 20L * 30;
+    // Existing chunks are skipped without loading, but checking them is not free either
+    private static final int MAX_CHECKS_PER_TICK = 4096;
+    // Held chunks still waiting for their decision, in ticks of generation
+    private static final int MAX_IN_FLIGHT_TICKS = 20;
+    // A chunk that has not been recorded after this long is released anyway
+    private static final int IN_FLIGHT_TIMEOUT_TICKS = 20 * 60;
+
+    private final Plugin plugin;
+    private final ChunkFallConfig config;
+    private final ChunkIndexManager chunkIndex;
+    private final File file;
+
+    private BukkitTask task;
+    private CommandSender reportTo;
+
+    // Current run; worldName == null means no run
+    private String worldName;
+    private int radiusChunks;
+    private int regionIndex;
+    private boolean paused;
+    private long done;
+    private long total;
+
+    // Position inside the current region (0..1023); the region itself comes from the spiral
+    private int regionCursor;
+    private final Spiral spiral = new Spiral();
+    private boolean regionsExhausted;
+
+    private final List<InFlight> inFlight = new ArrayList<>();
+    private long tick;
+    private long lastReportTick;
+    private long lastReportDone;
+    private long lastReportNanos;
+
+    public PregenManager(Plugin plugin, ChunkFallConfig config, ChunkIndexManager chunkIndex) {
+        this.plugin = plugin;
+        this.config = config;
+        this.chunkIndex = chunkIndex;
+        this.file = new File(plugin.getDataFolder(), FILE_NAME);
+    }
+
+    /**
+     * Picks up a run saved by a previous server. It continues once its world is loaded.
+     */
+    public void loadSaved() {
+        if (!file.exists()) {
+            return;
+        }
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
+        String savedWorld = yaml.getString("world");
+        if (savedWorld == null) {
+            return;
+        }
+
+        begin(savedWorld, yaml.getInt("radius-chunks"), yaml.getInt("region"));
+        paused = yaml.getBoolean("paused", false);
+        plugin.getLogger().info("[ChunkFall] Resuming pre-generation of " + savedWorld
+                + (paused ? " (paused)" : "") + " at " + done + "/" + total + " chunks.");
+        startTask();
+    }
+
+    public boolean isRunning() {
+        return worldName != null;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * @return false if a run is already active
+     */
+    public boolean start(World world, int radiusBlocks, CommandSender sender) {
+        if (isRunning()) {
+            return false;
+        }
+        begin(world.getName(), (radiusBlocks + 15) >> 4, 0);
+        reportTo = sender;
+        save();
+        startTask();
+        return true;
+    }
+
+    public void pause() {
+        paused = true;
+        save();
+    }
+
+    public void resume(CommandSender sender) {
+        paused = false;
+        reportTo = sender;
+        lastReportTick = tick;
+        lastReportDone = done;
+        lastReportNanos = System.nanoTime();
+        save();
+    }
+
+    public void cancel() {
+        releaseAll();
+        worldName = null;
+        stopTask();
+        if (file.exists() && !file.delete()) {
+            plugin.getLogger().warning("[ChunkFall] Could not delete " + file);
+        }
+    }
+
+    /**
+     * Saves progress and releases held chunks; the run continues after the next start.
+     */
+    public void stop() {
+        stopTask();
+        releaseAll();
+        if (isRunning()) {
+            save();
+        }
+    }
+
+    public void sendStatus(CommandSender sender) {
+        if (!isRunning()) {
+            MessageUtil.info(sender, "No pre-generation is running.");
+            return;
+        }
+        MessageUtil.info(sender, "Pre-generating " + worldName + " (radius " + (radiusChunks << 4) + " blocks)"
+                + (paused ? " - paused" : ""));
+        MessageUtil.info(sender, progressLine());
+    }
+
+    private void begin(String world, int radius, int region) {
+        worldName = world;
+        radiusChunks = Math.max(0, radius);
+        long side = 2L * radiusChunks + 1;
+        total = side * side;
+        paused = false;
+        regionsExhausted = false;
+
+        // Everything in the regions before the saved one was finished
+        done = 0;
+        spiral.reset();
+        for (regionIndex = 0; regionIndex < region; regionIndex++) {
+            done += chunksInRadius(spiral.x, spiral.z);
+            spiral.advance();
+        }
+        regionCursor = 0;
+
+        lastReportTick = tick;
+        lastReportDone = done;
+        lastReportNanos = System.nanoTime();
+    }
+
+    private void startTask() {
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    private void stopTask() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void tick() {
+        tick++;
+        if (!isRunning()) {
+            return;
+        }
+        World world = Bukkit.getWorld(worldName);
+        if (world == null) {
+            return; // not loaded yet, or unloaded for a while
+        }
+
+        retireFinished(world);
+
+        if (!paused) {
+            int perTick = config.getPregenChunksPerTick();
+            int budget = Math.min(perTick, perTick * MAX_IN_FLIGHT_TICKS - inFlight.size());
+            int checks = 0;
+            while (budget > 0 && !regionsExhausted && checks++ < MAX_CHECKS_PER_TICK) {
+                if (requestNext(world)) {
+                    budget--;
+                }
+            }
+        }
+
+        if (regionsExhausted && inFlight.isEmpty()) {
+            report("Pre-generation of " + worldName + " finished: " + done + " chunks.");
+            cancel();
+            return;
+        }
+
+        if (!paused && tick - lastReportTick >= REPORT_INTERVAL_TICKS) {
+            report(progressLine());
+            save();
+            lastReportTick = tick;
+            lastReportDone = done;
+            lastReportNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Advances the cursor by one chunk.
+     *
+     * @return true if a chunk was generated
+     */
+    private boolean requestNext(World world) {
+        if (regionCursor >= REGION_CHUNKS * REGION_CHUNKS) {
+            nextRegion();
+            return false;
+        }
+
+        int chunkX = (spiral.x << REGION_SHIFT) + (regionCursor & (REGION_CHUNKS - 1));
+        int chunkZ = (spiral.z << REGION_SHIFT) + (regionCursor >> REGION_SHIFT);
+        regionCursor++;
+
+        if (Math.abs(chunkX) > radiusChunks || Math.abs(chunkZ) > radiusChunks) {
+            return false;
+        }
+        // Already generated (and handled by ChunkLoadListener back then)
+        if (world.isChunkGenerated(chunkX, chunkZ)) {
+            done++;
+            return false;
+        }
+        // Protected ahead of time by a neighboring portal room: ChunkProcessor keeps that state,
+        // so there is no decision to wait for, and retireFinished could not tell it apart
+        boolean decided = chunkIndex.hasAny(world, chunkX, chunkZ);
+
+        Chunk chunk;
+        try {
+            chunk = world.getChunkAt(chunkX, chunkZ);
+        } catch (RuntimeException ex) {
+            plugin.getLogger().log(Level.WARNING, "[ChunkFall] Pre-generation failed at " + chunkX + "," + chunkZ, ex);
+            done++;
+            return true;
+        }
+        if (decided) {
+            done++;
+            return true;
+        }
+        // Hold the chunk until its decision is applied; released in retireFinished
+        chunk.addPluginChunkTicket(plugin);
+        inFlight.add(new InFlight(chunkX, chunkZ, regionIndex, tick));
+        return true;
+    }
+
+    private void nextRegion() {
+        int lastRing = Math.floorDiv(radiusChunks, REGION_CHUNKS) + 1;
+        do {
+            regionIndex++;
+            spiral.advance();
+            if (Math.max(Math.abs(spiral.x), Math.abs(spiral.z)) > lastRing) {
+                regionsExhausted = true;
+                return;
+            }
+        } while (chunksInRadius(spiral.x, spiral.z) == 0);
+        regionCursor = 0;
+    }
+
+    private long chunksInRadius(int regionX, int regionZ) {
+        return overlap(regionX << REGION_SHIFT) * overlap(regionZ << REGION_SHIFT);
+    }
+
+    private long overlap(int regionMin) {
+        int from = Math.max(regionMin, -radiusChunks);
+        int to = Math.min(regionMin + REGION_CHUNKS - 1, radiusChunks);
+        return Math.max(0, to - from + 1);
+    }
+
+    private void retireFinished(World world) {
+        Iterator<InFlight> it = inFlight.iterator();
+        while (it.hasNext()) {
+            InFlight entry = it.next();
+            // Only chunks without a state are held, so any state now is their decision
+            boolean recorded = chunkIndex.hasAny(world, entry.chunkX, entry.chunkZ);
+            if (!recorded && tick - entry.startTick < IN_FLIGHT_TIMEOUT_TICKS) {
+                continue;
+            }
+            world.removePluginChunkTicket(entry.chunkX, entry.chunkZ, plugin);
+            it.remove();
+            done++;
+        }
+    }
+
+    private void releaseAll() {
+        World world = worldName != null ? Bukkit.getWorld(worldName) : null;
+        if (world != null) {
+            for (InFlight entry : inFlight) {
+                world.removePluginChunkTicket(entry.chunkX, entry.chunkZ, plugin);
+            }
+        }
+        // Not counted as done; the region is walked again on resume
+        inFlight.clear();
+    }
+
+    private String progressLine() {
+        double seconds = (System.nanoTime() - lastReportNanos) / 1_000_000_000.0;
+        double rate = seconds > 0 ? (done - lastReportDone) / seconds : 0;
+        double percent = total > 0 ? done * 100.0 / total : 100.0;
+        return String.format("%d/%d chunks (%.1f%%), %.1f chunks/sec, %d in flight",
+                done, total, Math.min(100.0, percent), rate, inFlight.size());
+    }
+
+    private void report(String message) {
+        plugin.getLogger().info("[ChunkFall] " + message);
+        if (reportTo instanceof Player player && player.isOnline()) {
+            MessageUtil.info(player, message);
+        }
+    }
+
+    private void save() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("world", worldName);
+        yaml.set("radius-chunks", radiusChunks);
+        // Regions are restarted from their first chunk, including older ones still in flight
+        int region = regionIndex;
+        for (InFlight entry : inFlight) {
+            region = Math.min(region, entry.regionIndex);
+        }
+        yaml.set("region", region);
+        yaml.set("paused", paused);
+        try {
+            yaml.save(file);
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.WARNING, "[ChunkFall] Could not save pre-generation progress to " + file, ex);
+        }
+    }
+
+    /**
+     * Square spiral of region coordinates starting at (0,0).
+     */
+    private static final class Spiral {
+        int x;
+        int z;
+        private int dx;
+        private int dz;
+        private int segmentLength;
+        private int segmentPassed;
+        private int turns;
+
+        void reset() {
+            x = 0;
+            z = 0;
+            dx = 1;
+            dz = 0;
+            segmentLength = 1;
+            segmentPassed = 0;
+            turns = 0;
+        }
+
+        void advance() {
+            x += dx;
+            z += dz;
+            if (++segmentPassed == segmentLength) {
+                segmentPassed = 0;
+                int oldDx = dx;
+                dx = -dz;
+                dz = oldDx;
+                if (++turns % 2 == 0) {
+                    segmentLength++;
+                }
+            }
+        }
+    }
+
+    private static final class InFlight {
+        final int chunkX;
+        final int chunkZ;
+        final int regionIndex;
+        final long startTick;
+
+        InFlight(int chunkX, int chunkZ, int regionIndex, long startTick) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.regionIndex = regionIndex;
+            this.startTick = startTick;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.daytonjwatson.chunkfall.logic;
+
+import com.daytonjwatson.chunkfall.util.BlockPresence;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+
+/**
+ * A reason to keep an otherwise voided chunk, checked by {@link ChunkScanner}: the chunk is kept
+ * if it contains a block of the rule's material.
+ *
+ * The section palettes are asked first whether the material is in the chunk at all
+ * ({@link BlockPresence}). If it is not, the rule costs nothing more. If it may be, the block
+ * pass looks for an actual block.
+ */
+public final class ProtectionRule {
+
+    private final Material material;
+    private final BlockPresence presence;
+
+    private ProtectionRule(Material material, BlockPresence presence) {
+        this.material = material;
+        this.presence = presence;
+    }
+
+    /**
+     * The chunk is protected if it contains a {@code material} block. Main thread only
+     * (see {@link BlockPresence#of(Material)}).
+     */
+    public static ProtectionRule present(Material material) {
+        return new ProtectionRule(material, BlockPresence.of(material));
+    }
+
+    /**
+     * False if the palettes rule this out; true means only that the block pass is worth doing.
+     * Safe off the main thread.
+     */
+    public boolean isPresent(ChunkSnapshot snapshot) {
+        return presence.isIn(snapshot);
+    }
+
+    /**
+     * Safe off the main thread.
+     */
+    public boolean matches(Material type) {
+        return type == material;
+    }
+}
@@ -0,0 +1,68 @@
+package com.daytonjwatson.chunkfall.logic;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+/**
+ * Finds the block a cobblestone generator mines next: the stone closest to the barrel inside the
+ * barrel's chunk. Layers are searched outward from the barrel's height, and the search stops at
+ * the first pair of layers (above and below) holding any stone. Main thread only.
+ */
+public final class StoneSearch {
+
+    private StoneSearch() {
+    }
+
+    /**
+     * @param verticalRange how many layers above and below the barrel are searched
+     * @return the nearest stone block, or null if there is none in range
+     */
+    public static Block findNearest(World world, int barrelX, int barrelY, int barrelZ, int verticalRange) {
+        int chunkMinX = (barrelX >> 4) << 4;
+        int chunkMinZ = (barrelZ >> 4) << 4;
+        int chunkMaxX = chunkMinX + 15;
+        int chunkMaxZ = chunkMinZ + 15;
+
+        int minY = world.getMinHeight();
+        int maxY = world.getMaxHeight() - 1;
+
+        Block bestBlock = null;
+        int bestDistSq = Integer.MAX_VALUE;
+
+        for (int dy = 0; dy <= verticalRange; dy++) {
+            int[] ys = {barrelY + dy, barrelY - dy};
+
+            for (int y : ys) {
+                if (y < minY || y > maxY) {
+                    continue;
+                }
+
+                for (int x = chunkMinX; x <= chunkMaxX; x++) {
+                    for (int z = chunkMinZ; z <= chunkMaxZ; z++) {
+                        Block candidate = world.getBlockAt(x, y, z);
+                        if (candidate.getType() != Material.STONE) {
+                            continue;
+                        }
+
+                        int dx = x - barrelX;
+                        int dz = z - barrelZ;
+                        int dy2 = y - barrelY;
+                        int distSq = dx * dx + dy2 * dy2 + dz * dz;
+
+                        if (distSq < bestDistSq) {
+                            bestDistSq = distSq;
+                            bestBlock = candidate;
+                        }
+                    }
+                }
+            }
+
+            if (bestBlock != null) {
+                break;
+            }
+        }
+
+        return bestBlock;
+    }
+}
@@ -0,0 +1,94 @@
+package com.daytonjwatson.chunkfall.logic;
+
+import com.daytonjwatson.chunkfall.config.ChunkFallConfig;
+import org.bukkit.Chunk;
+import org.bukkit.World.Environment;
+import org.bukkit.generator.structure.GeneratedStructure;
+import org.bukkit.generator.structure.Structure;
+import org.bukkit.generator.structure.StructurePiece;
+import org.bukkit.util.BoundingBox;
+
+/**
+ * Keeps chunks that overlap protected structure pieces, decided from the structure data the
+ * server stores with each chunk instead of from its blocks.
+ *
+ * Every chunk a structure overlaps references that structure, so each chunk of a portal room
+ * is recognized on its own, whatever order the chunks generate in.
+ *
+ * The API does not expose piece types, so pieces are recognized by the size of their bounding
+ * box (either horizontal orientation):
+ *  - stronghold portal room: 11 x 8 x 16
+ *  - fortress blaze spawner room (monster throne): 7 x 8 x 9
+ *  - fortress nether wart room (castle stalk room): 13 x 14 x 13, shared with the castle entrance
+ */
+public class StructureProtection {
+
+    private static final PieceShape PORTAL_ROOM = new PieceShape(11, 8, 16);
+    private static final PieceShape MONSTER_THRONE = new PieceShape(7, 8, 9);
+    private static final PieceShape STALK_ROOM = new PieceShape(13, 14, 13);
+
+    private final ChunkFallConfig config;
+
+    public StructureProtection(ChunkFallConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Main thread only. True if a protected piece of a structure overlaps this chunk.
+     */
+    public boolean isProtected(Chunk chunk, Environment env) {
+        Structure structure;
+        if (env == Environment.NORMAL && config.isProtectEndPortalRoom()) {
+            structure = Structure.STRONGHOLD;
+        } else if (env == Environment.NETHER && config.isProtectNetherFortressEssentials()) {
+            structure = Structure.FORTRESS;
+        } else {
+            return false;
+        }
+
+        int minX = chunk.getX() << 4;
+        int minZ = chunk.getZ() << 4;
+
+        for (GeneratedStructure generated : chunk.getStructures(structure)) {
+            for (StructurePiece piece : generated.getPieces()) {
+                BoundingBox box = piece.getBoundingBox();
+                if (!overlapsChunk(box, minX, minZ)) {
+                    continue;
+                }
+                if (env == Environment.NORMAL
+                        ? PORTAL_ROOM.matches(box)
+                        : MONSTER_THRONE.matches(box) || STALK_ROOM.matches(box)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean overlapsChunk(BoundingBox box, int minX, int minZ) {
+        // Box max may be inclusive, so touching the chunk edge counts
+        return box.getMinX() < minX + 16 && box.getMaxX() >= minX
+                && box.getMinZ() < minZ + 16 && box.getMaxZ() >= minZ;
+    }
+
+    private record PieceShape(int width, int height, int depth) {
+
+        /**
+         * Bounding box sizes are compared with a tolerance of one block, since the box max may be
+         * stored inclusive or exclusive.
+         */
+        boolean matches(BoundingBox box) {
+            int x = (int) Math.round(box.getWidthX());
+            int y = (int) Math.round(box.getHeight());
+            int z = (int) Math.round(box.getWidthZ());
+            if (!near(y, height)) {
+                return false;
+            }
+            return (near(x, width) && near(z, depth)) || (near(x, depth) && near(z, width));
+        }
+
+        private static boolean near(int actual, int expected) {
+            return actual == expected || actual == expected - 1;
+        }
+    }
+}
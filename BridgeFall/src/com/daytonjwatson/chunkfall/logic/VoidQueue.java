@@ -0,0 +1,130 @@
+package com.daytonjwatson.chunkfall.logic;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Finished chunk decisions waiting for the main thread, handed out nearest-to-a-player first.
+ *
+ * Entries sit in a heap keyed on their distance to a snapshot of player positions, so adding
+ * and taking an entry is logarithmic. Players move, so the snapshot is retaken every
+ * {@link #SNAPSHOT_TICKS}; entries keyed on the old snapshot are then re-keyed a few at a time
+ * within the caller's tick budget rather than re-sorted all at once.
+ * Main thread only.
+ */
+class VoidQueue {
+
+    // Players move, so positions are re-read at least this often
+    private static final int SNAPSHOT_TICKS = 20;
+
+    // How many entries are re-keyed between deadline checks
+    private static final int REKEY_BATCH = 64;
+
+    private final PriorityQueue<ChunkProcessor.ScanResult> heap =
+            new PriorityQueue<>(Comparator.comparingLong((ChunkProcessor.ScanResult result) -> result.priority));
+    // Entries still keyed on the previous snapshot
+    private final ArrayDeque<ChunkProcessor.ScanResult> stale = new ArrayDeque<>();
+
+    // Player chunk positions per world for the current snapshot, read lazily
+    private final Map<UUID, int[]> playerChunks = new HashMap<>();
+    private int ticksSinceSnapshot;
+
+    void add(ChunkProcessor.ScanResult result) {
+        rekey(result);
+        heap.add(result);
+    }
+
+    boolean isEmpty() {
+        return heap.isEmpty() && stale.isEmpty();
+    }
+
+    int size() {
+        return heap.size() + stale.size();
+    }
+
+    ChunkProcessor.ScanResult poll() {
+        ChunkProcessor.ScanResult result = heap.poll();
+        return result != null ? result : stale.poll();
+    }
+
+    /**
+     * Retakes the player snapshot when it is getting old and re-keys entries from the previous
+     * one until the deadline passes. Whatever is left is re-keyed on later ticks.
+     */
+    void prioritize(long deadlineNanos) {
+        if (++ticksSinceSnapshot >= SNAPSHOT_TICKS) {
+            ticksSinceSnapshot = 0;
+            playerChunks.clear();
+            if (heap.size() > 1) {
+                stale.addAll(heap);
+                heap.clear();
+            }
+        }
+
+        while (!stale.isEmpty()) {
+            for (int i = 0; i < REKEY_BATCH && !stale.isEmpty(); i++) {
+                ChunkProcessor.ScanResult result = stale.poll();
+                rekey(result);
+                heap.add(result);
+            }
+            if (System.nanoTime() >= deadlineNanos) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes every entry, nearest first as far as the current keys go.
+     */
+    List<ChunkProcessor.ScanResult> drain() {
+        List<ChunkProcessor.ScanResult> drained = new ArrayList<>(size());
+        while (!isEmpty()) {
+            drained.add(poll());
+        }
+        return drained;
+    }
+
+    private void rekey(ChunkProcessor.ScanResult result) {
+        int[] chunks = playerChunks.computeIfAbsent(result.worldId, VoidQueue::playerChunks);
+        result.priority = nearestDistanceSquared(chunks, result.chunkX, result.chunkZ);
+    }
+
+    /**
+     * Chunk coordinates of the players in this world, flattened as x0, z0, x1, z1, ...
+     */
+    private static int[] playerChunks(UUID worldId) {
+        World world = Bukkit.getWorld(worldId);
+        if (world == null) {
+            return new int[0];
+        }
+        List<Player> players = world.getPlayers();
+        int[] chunks = new int[players.size() * 2];
+        for (int i = 0; i < players.size(); i++) {
+            Location loc = players.get(i).getLocation();
+            chunks[i * 2] = loc.getBlockX() >> 4;
+            chunks[i * 2 + 1] = loc.getBlockZ() >> 4;
+        }
+        return chunks;
+    }
+
+    private static long nearestDistanceSquared(int[] playerChunks, int chunkX, int chunkZ) {
+        long nearest = Long.MAX_VALUE;
+        for (int i = 0; i < playerChunks.length; i += 2) {
+            long dx = playerChunks[i] - chunkX;
+            long dz = playerChunks[i + 1] - chunkZ;
+            nearest = Math.min(nearest, dx * dx + dz * dz);
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,118 @@
+package com.daytonjwatson.chunkfall.storage;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Respawn anchors placed in Limbo, oldest first, kept in the plugin data folder as "x,y,z" entries,
+ * together with the anchors still to be cleared from chunks that were not loaded when they were
+ * dropped.
+ *
+ * Every save goes through one writer thread in the order it was requested, so an older list can
+ * never overwrite a newer one. {@link #stop()} waits for the queued saves.
+ */
+public class AnchorStore {
+
+    private static final String FILE_NAME = "anchors.yml";
+
+    private final Plugin plugin;
+    private final File file;
+    private final ExecutorService writer;
+
+    public AnchorStore(Plugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), FILE_NAME);
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ChunkFall-Anchors");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return positions as {x, y, z}, tracked anchors oldest first; empty lists if nothing was saved
+     */
+    public Saved load() {
+        if (!file.exists()) {
+            return new Saved(new ArrayList<>(), new ArrayList<>());
+        }
+
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
+        return new Saved(readPositions(yaml, "anchors"), readPositions(yaml, "removals"));
+    }
+
+    /**
+     * Queues a write of the lists; the caller must not change them afterwards.
+     */
+    public void save(List<int[]> anchors, List<int[]> removals) {
+        writer.execute(() -> write(anchors, removals));
+    }
+
+    /**
+     * Finishes queued saves.
+     */
+    public void stop() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("[ChunkFall] Anchor saves still running at shutdown; the newest changes may be lost.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<int[]> anchors, List<int[]> removals) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("anchors", toEntries(anchors));
+        yaml.set("removals", toEntries(removals));
+        try {
+            yaml.save(file);
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.WARNING, "[ChunkFall] Could not save anchors to " + file, ex);
+        }
+    }
+
+    private static List<int[]> readPositions(YamlConfiguration yaml, String key) {
+        List<int[]> positions = new ArrayList<>();
+        for (String entry : yaml.getStringList(key)) {
+            String[] parts = entry.split(",");
+            if (parts.length != 3) {
+                continue;
+            }
+            try {
+                positions.add(new int[]{
+                        Integer.parseInt(parts[0].trim()),
+                        Integer.parseInt(parts[1].trim()),
+                        Integer.parseInt(parts[2].trim())
+                });
+            } catch (NumberFormatException ignored) {
+                // Skip hand-edited entries that are not positions
+            }
+        }
+        return positions;
+    }
+
+    private static List<String> toEntries(List<int[]> positions) {
+        List<String> entries = new ArrayList<>(positions.size());
+        for (int[] pos : positions) {
+            entries.add(pos[0] + "," + pos[1] + "," + pos[2]);
+        }
+        return entries;
+    }
+
+    /**
+     * Tracked anchors, and anchors to clear once their chunk loads.
+     */
+    public record Saved(List<int[]> anchors, List<int[]> removals) {
+    }
+}
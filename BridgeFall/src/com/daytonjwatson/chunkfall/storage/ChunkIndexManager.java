@@ -0,0 +1,105 @@
+package com.daytonjwatson.chunkfall.storage;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Opens one {@link ChunkStateIndex} per world on first use and keeps it mapped until
+ * the world unloads or the plugin disables. Lookups are thread-safe.
+ */
+public class ChunkIndexManager {
+
+    private static final String FILE_NAME = "chunkfall-index.dat";
+
+    private final Plugin plugin;
+    private final Map<UUID, ChunkStateIndex> indexes = new ConcurrentHashMap<>();
+    // Worlds whose index failed to open; not retried on every chunk
+    private final Set<UUID> failed = ConcurrentHashMap.newKeySet();
+    // Worlds already warned about a full index; warned once per open
+    private final Set<UUID> full = ConcurrentHashMap.newKeySet();
+
+    public ChunkIndexManager(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * @return the index for this world, or null if it could not be opened
+     */
+    public ChunkStateIndex get(World world) {
+        ChunkStateIndex index = indexes.get(world.getUID());
+        if (index != null || failed.contains(world.getUID())) {
+            return index;
+        }
+        return indexes.computeIfAbsent(world.getUID(), id -> open(world));
+    }
+
+    private ChunkStateIndex open(World world) {
+        File file = new File(world.getWorldFolder(), FILE_NAME);
+        try {
+            return new ChunkStateIndex(file);
+        } catch (IOException | RuntimeException ex) {
+            plugin.getLogger().log(Level.WARNING, "[ChunkFall] Could not open chunk index " + file, ex);
+            failed.add(world.getUID());
+            return null;
+        }
+    }
+
+    public void set(World world, int chunkX, int chunkZ, ChunkState state) {
+        ChunkStateIndex index = get(world);
+        if (index != null && !index.set(chunkX, chunkZ, state) && full.add(world.getUID())) {
+            plugin.getLogger().warning("[ChunkFall] Chunk index for " + world.getName()
+                    + " is full. Chunks in regions not yet indexed are no longer recorded:"
+                    + " they are processed again each time they load after a restart,"
+                    + " and neighbor protection for them only lasts until the server stops.");
+        }
+    }
+
+    public boolean has(World world, int chunkX, int chunkZ, ChunkState state) {
+        ChunkStateIndex index = get(world);
+        return index != null && index.has(chunkX, chunkZ, state);
+    }
+
+    public boolean hasAny(World world, int chunkX, int chunkZ) {
+        ChunkStateIndex index = get(world);
+        return index != null && index.hasAny(chunkX, chunkZ);
+    }
+
+    public boolean isVoided(World world, int chunkX, int chunkZ) {
+        return has(world, chunkX, chunkZ, ChunkState.VOIDED);
+    }
+
+    public void flushAsync(World world) {
+        ChunkStateIndex index = indexes.get(world.getUID());
+        if (index == null) {
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, index::flush);
+    }
+
+    public void close(World world) {
+        failed.remove(world.getUID());
+        full.remove(world.getUID());
+        ChunkStateIndex index = indexes.remove(world.getUID());
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    public void closeAll() {
+        for (ChunkStateIndex index : indexes.values()) {
+            index.close();
+        }
+        indexes.clear();
+        failed.clear();
+        full.clear();
+    }
+}
@@ -0,0 +1,76 @@
+package com.daytonjwatson.chunkfall.storage;
+
+import com.daytonjwatson.chunkfall.util.ChunkKeyUtil;
+import com.daytonjwatson.chunkfall.util.LongHashSet;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory chunk key set, one primitive {@link LongHashSet} per world so keys never collide
+ * across dimensions. Once a world's set reaches its limit, chunks whose state is already in
+ * the {@link ChunkIndexManager} are evicted; the index answers for them from then on.
+ * Main thread only.
+ */
+public class ChunkKeySet {
+
+    private final ChunkIndexManager chunkIndex;
+    private final int maxEntriesPerWorld;
+    private final Map<UUID, WorldSet> sets = new HashMap<>();
+
+    public ChunkKeySet(ChunkIndexManager chunkIndex, int maxEntriesPerWorld) {
+        this.chunkIndex = chunkIndex;
+        this.maxEntriesPerWorld = Math.max(1024, maxEntriesPerWorld);
+    }
+
+    /**
+     * @return true if the chunk was not already in the set
+     */
+    public boolean add(World world, int chunkX, int chunkZ) {
+        WorldSet set = sets.computeIfAbsent(world.getUID(), id -> new WorldSet(maxEntriesPerWorld));
+        if (set.keys.size() >= set.evictAt) {
+            evictPersisted(world, set);
+        }
+        return set.keys.add(ChunkKeyUtil.chunkKey(chunkX, chunkZ));
+    }
+
+    public boolean contains(World world, int chunkX, int chunkZ) {
+        WorldSet set = sets.get(world.getUID());
+        return set != null && set.keys.contains(ChunkKeyUtil.chunkKey(chunkX, chunkZ));
+    }
+
+    public boolean remove(World world, int chunkX, int chunkZ) {
+        WorldSet set = sets.get(world.getUID());
+        return set != null && set.keys.remove(ChunkKeyUtil.chunkKey(chunkX, chunkZ));
+    }
+
+    public int size(World world) {
+        WorldSet set = sets.get(world.getUID());
+        return set != null ? set.keys.size() : 0;
+    }
+
+    public void clear(World world) {
+        sets.remove(world.getUID());
+    }
+
+    private void evictPersisted(World world, WorldSet set) {
+        ChunkStateIndex index = chunkIndex.get(world);
+        if (index != null) {
+            set.keys.removeIf(key -> index.hasAny(ChunkKeyUtil.getX(key), ChunkKeyUtil.getZ(key)));
+        }
+        // Whatever is left is still in flight; let the set grow instead of rescanning on every add
+        set.evictAt = Math.max(maxEntriesPerWorld, set.keys.size() * 2);
+    }
+
+    private static final class WorldSet {
+        final LongHashSet keys;
+        int evictAt;
+
+        WorldSet(int evictAt) {
+            this.keys = new LongHashSet(Math.min(evictAt, 4096));
+            this.evictAt = evictAt;
+        }
+    }
+}
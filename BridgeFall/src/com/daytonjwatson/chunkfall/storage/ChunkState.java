@@ -0,0 +1,20 @@
+package com.daytonjwatson.chunkfall.storage;
+
+/**
+ * Per-chunk flags stored in a {@link ChunkStateIndex}. Each state is one bit per chunk.
+ */
+public enum ChunkState {
+    VOIDED(0),
+    ISLAND(1),
+    PROTECTED(2);
+
+    private final int plane;
+
+    ChunkState(int plane) {
+        this.plane = plane;
+    }
+
+    int getPlane() {
+        return plane;
+    }
+}
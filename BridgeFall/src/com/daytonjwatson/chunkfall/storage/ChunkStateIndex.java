@@ -0,0 +1,248 @@
+package com.daytonjwatson.chunkfall.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Durable chunk state bits for one world, stored in a memory-mapped file.
+ *
+ * Layout:
+ *  - header: magic, version, directory slot count, page count
+ *  - directory: fixed open-addressed table of (regionX, regionZ, page number) for 32x32 chunk regions
+ *  - pages: one per region, one 1024-bit plane per {@link ChunkState}
+ *
+ * Opening only maps the file, so startup cost does not grow with the number of stored chunks.
+ * The directory never moves, so the file is only ever extended, never rewritten.
+ * All access is synchronized; {@link #flush()} writes dirty pages outside the lock.
+ */
+public class ChunkStateIndex {
+
+    private static final int MAGIC = 0x43464958; // "CFIX"
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 16;
+    private static final int SLOT_BYTES = 12;
+    private static final int PLANE_BYTES = 1024 / 8;
+    private static final int PAGE_BYTES = PLANE_BYTES * ChunkState.values().length;
+
+    // Room for 32768 regions of 32x32 chunks (roughly a 90k block wide square) at half load
+    private static final int DIRECTORY_SLOTS = 1 << 16;
+    private static final int PAGE_GROWTH = 64;
+
+    private final File file;
+    private RandomAccessFile raf;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    private int slots;
+    private int pageCount;
+    private int mappedPages;
+    private boolean dirty;
+
+    public ChunkStateIndex(File file) throws IOException {
+        this.file = file;
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+
+        boolean fresh = !file.exists() || file.length() < HEADER_BYTES;
+        open();
+
+        if (fresh) {
+            slots = DIRECTORY_SLOTS;
+            pageCount = 0;
+            map(0);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, slots);
+            buffer.putInt(12, 0);
+            dirty = true;
+        } else {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                close();
+                throw new IOException("Unrecognized chunk index format: " + file);
+            }
+            slots = header.getInt(8);
+            pageCount = header.getInt(12);
+            if (Integer.bitCount(slots) != 1 || pageCount < 0 || pageCount > slots) {
+                close();
+                throw new IOException("Corrupt chunk index header: " + file);
+            }
+            map(pageCount);
+        }
+    }
+
+    public synchronized boolean has(int chunkX, int chunkZ, ChunkState state) {
+        int page = findPage(chunkX >> 5, chunkZ >> 5);
+        if (page < 0) {
+            return false;
+        }
+        int bit = bitIndex(chunkX, chunkZ);
+        int offset = pageOffset(page) + state.getPlane() * PLANE_BYTES + (bit >>> 3);
+        return (buffer.get(offset) & (1 << (bit & 7))) != 0;
+    }
+
+    /**
+     * True if any state was recorded for this chunk, i.e. it has already been processed.
+     */
+    public synchronized boolean hasAny(int chunkX, int chunkZ) {
+        int page = findPage(chunkX >> 5, chunkZ >> 5);
+        if (page < 0) {
+            return false;
+        }
+        int bit = bitIndex(chunkX, chunkZ);
+        int base = pageOffset(page) + (bit >>> 3);
+        int mask = 1 << (bit & 7);
+        for (ChunkState state : ChunkState.values()) {
+            if ((buffer.get(base + state.getPlane() * PLANE_BYTES) & mask) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isVoided(int chunkX, int chunkZ) {
+        return has(chunkX, chunkZ, ChunkState.VOIDED);
+    }
+
+    /**
+     * @return false if the index is full and the state could not be recorded
+     */
+    public synchronized boolean set(int chunkX, int chunkZ, ChunkState state) {
+        int page = findOrCreatePage(chunkX >> 5, chunkZ >> 5);
+        if (page < 0) {
+            return false;
+        }
+        int bit = bitIndex(chunkX, chunkZ);
+        int offset = pageOffset(page) + state.getPlane() * PLANE_BYTES + (bit >>> 3);
+        byte current = buffer.get(offset);
+        byte updated = (byte) (current | (1 << (bit & 7)));
+        if (current != updated) {
+            buffer.put(offset, updated);
+            dirty = true;
+        }
+        return true;
+    }
+
+    /**
+     * Writes changed pages to disk. Safe to call from an async task.
+     */
+    public void flush() {
+        MappedByteBuffer toForce;
+        synchronized (this) {
+            if (!dirty || buffer == null) {
+                return;
+            }
+            dirty = false;
+            toForce = buffer;
+        }
+        toForce.force();
+    }
+
+    public synchronized void close() {
+        if (buffer != null && dirty) {
+            buffer.force();
+            dirty = false;
+        }
+        buffer = null;
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+            if (raf != null) {
+                raf.close();
+            }
+        } catch (IOException ignored) {
+        }
+        channel = null;
+        raf = null;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    private static int bitIndex(int chunkX, int chunkZ) {
+        return ((chunkZ & 31) << 5) | (chunkX & 31);
+    }
+
+    private int pageOffset(int page) {
+        return HEADER_BYTES + slots * SLOT_BYTES + page * PAGE_BYTES;
+    }
+
+    private int slotFor(int regionX, int regionZ) {
+        int h = regionX * 0x9E3779B1 + regionZ * 0x85EBCA6B;
+        h ^= h >>> 16;
+        return h & (slots - 1);
+    }
+
+    private int findPage(int regionX, int regionZ) {
+        if (buffer == null) {
+            return -1;
+        }
+        int slot = slotFor(regionX, regionZ);
+        for (int probe = 0; probe < slots; probe++) {
+            int offset = HEADER_BYTES + slot * SLOT_BYTES;
+            int pageNumber = buffer.getInt(offset + 8);
+            if (pageNumber == 0) {
+                return -1;
+            }
+            if (buffer.getInt(offset) == regionX && buffer.getInt(offset + 4) == regionZ) {
+                return pageNumber - 1;
+            }
+            slot = (slot + 1) & (slots - 1);
+        }
+        return -1;
+    }
+
+    private int findOrCreatePage(int regionX, int regionZ) {
+        int existing = findPage(regionX, regionZ);
+        if (existing >= 0) {
+            return existing;
+        }
+
+        // Keep the directory at most half full so probes stay short
+        if (buffer == null || pageCount >= slots / 2) {
+            return -1;
+        }
+        if (pageCount + 1 > mappedPages) {
+            map(pageCount + PAGE_GROWTH);
+        }
+
+        int page = pageCount++;
+        int slot = slotFor(regionX, regionZ);
+        while (buffer.getInt(HEADER_BYTES + slot * SLOT_BYTES + 8) != 0) {
+            slot = (slot + 1) & (slots - 1);
+        }
+        int offset = HEADER_BYTES + slot * SLOT_BYTES;
+        buffer.putInt(offset, regionX);
+        buffer.putInt(offset + 4, regionZ);
+        buffer.putInt(offset + 8, page + 1);
+        buffer.putInt(12, pageCount);
+        dirty = true;
+        return page;
+    }
+
+    private void open() throws IOException {
+        raf = new RandomAccessFile(file, "rw");
+        channel = raf.getChannel();
+    }
+
+    private void map(int pages) {
+        long size = HEADER_BYTES + (long) slots * SLOT_BYTES + (long) Math.max(pages, 1) * PAGE_BYTES;
+        try {
+            if (raf.length() < size) {
+                raf.setLength(size);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not map chunk index " + file, ex);
+        }
+        mappedPages = Math.max(pages, 1);
+    }
+}
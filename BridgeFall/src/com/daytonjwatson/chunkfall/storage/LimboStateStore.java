@@ -0,0 +1,213 @@
+package com.daytonjwatson.chunkfall.storage;
+
+import org.bukkit.plugin.Plugin;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Where each player's next respawn should go after a death that involves Limbo. Whether a
+ * player is in Limbo is not stored: it is whatever world they are in. Reads and changes only
+ * touch memory and belong on the main thread.
+ *
+ * Every change is also appended to limbo-state.log by a background thread, so the state
+ * survives disconnects and restarts. The log is replayed on start, and rewritten as a
+ * snapshot of the live state once it has grown well past it.
+ */
+public class LimboStateStore {
+
+    public enum PendingRespawn {
+        NONE,
+        /** Died in Limbo: respawn on the Limbo platform. */
+        RETURN_TO_LIMBO,
+        /** Fell into the void outside Limbo: respawn into Limbo with new anchors. */
+        ENTER_LIMBO
+    }
+
+    private static final String FILE_NAME = "limbo-state.log";
+    private static final String REMOVED = "-";
+    // The log is compacted once it has this many lines and several times the live entries
+    private static final int COMPACT_MIN_LINES = 1024;
+    private static final int COMPACT_FACTOR = 4;
+
+    private final Plugin plugin;
+    private final File file;
+    private final Map<UUID, PendingRespawn> states = new HashMap<>();
+    private final ExecutorService writer;
+
+    // Main thread: lines appended since the last snapshot
+    private int journalLines;
+
+    // Writer thread only
+    private BufferedWriter out;
+
+    public LimboStateStore(Plugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), FILE_NAME);
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ChunkFall-LimboState");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Replays the log, then compacts it in the background.
+     */
+    public void load() {
+        if (!file.exists()) {
+            return;
+        }
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.WARNING, "[ChunkFall] Could not read " + file, ex);
+            return;
+        }
+
+        for (String line : lines) {
+            replay(line);
+        }
+        compact();
+    }
+
+    public void setPendingRespawn(UUID playerId, PendingRespawn pending) {
+        if (states.getOrDefault(playerId, PendingRespawn.NONE) == pending) {
+            return;
+        }
+        changed(playerId, pending);
+    }
+
+    /**
+     * Returns and clears the player's pending respawn.
+     */
+    public PendingRespawn takePendingRespawn(UUID playerId) {
+        PendingRespawn pending = states.getOrDefault(playerId, PendingRespawn.NONE);
+        if (pending != PendingRespawn.NONE) {
+            changed(playerId, PendingRespawn.NONE);
+        }
+        return pending;
+    }
+
+    /**
+     * Finishes queued writes and closes the log.
+     */
+    public void stop() {
+        writer.execute(this::closeLog);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("[ChunkFall] Limbo state writes still running at shutdown; the newest changes may be lost.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void changed(UUID playerId, PendingRespawn pending) {
+        String line;
+        if (pending == PendingRespawn.NONE) {
+            states.remove(playerId);
+            line = playerId + " " + REMOVED;
+        } else {
+            states.put(playerId, pending);
+            line = playerId + " " + pending.name();
+        }
+
+        writer.execute(() -> appendLine(line));
+        journalLines++;
+        if (journalLines >= COMPACT_MIN_LINES && journalLines >= states.size() * COMPACT_FACTOR) {
+            compact();
+        }
+    }
+
+    private void replay(String line) {
+        // A crash can leave a torn last line; anything unreadable is skipped
+        String[] parts = line.trim().split(" ");
+        try {
+            UUID playerId = UUID.fromString(parts[0]);
+            if (parts.length != 2) {
+                return;
+            }
+            if (parts[1].equals(REMOVED)) {
+                states.remove(playerId);
+                return;
+            }
+            PendingRespawn pending = PendingRespawn.valueOf(parts[1]);
+            if (pending == PendingRespawn.NONE) {
+                states.remove(playerId);
+            } else {
+                states.put(playerId, pending);
+            }
+        } catch (IllegalArgumentException ignored) {
+            // Not a state line
+        }
+    }
+
+    /**
+     * Queues a rewrite of the log from the current state. The writer runs tasks in order, so
+     * lines queued before this are covered by the snapshot and lines queued after it follow it.
+     */
+    private void compact() {
+        List<String> snapshot = new ArrayList<>(states.size());
+        for (Map.Entry<UUID, PendingRespawn> entry : states.entrySet()) {
+            snapshot.add(entry.getKey() + " " + entry.getValue().name());
+        }
+        journalLines = snapshot.size();
+        writer.execute(() -> writeSnapshot(snapshot));
+    }
+
+    private void appendLine(String line) {
+        try {
+            if (out == null) {
+                out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            out.write(line);
+            out.newLine();
+            out.flush();
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.WARNING, "[ChunkFall] Could not write Limbo state to " + file, ex);
+            closeLog();
+        }
+    }
+
+    private void writeSnapshot(List<String> snapshot) {
+        closeLog();
+        File tmp = new File(file.getParentFile(), FILE_NAME + ".tmp");
+        try {
+            Files.write(tmp.toPath(), snapshot, StandardCharsets.UTF_8);
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.WARNING, "[ChunkFall] Could not compact " + file, ex);
+        }
+    }
+
+    private void closeLog() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // Nothing left to do with it
+        }
+        out = null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.daytonjwatson.chunkfall.storage;
+
+import com.daytonjwatson.chunkfall.util.LongHashSet;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Chunks that were still waiting to be voided when the server stopped, kept in the plugin
+ * data folder until the next start so they are processed instead of left half-done.
+ */
+public class PendingChunkStore {
+
+    private static final String FILE_NAME = "pending-chunks.yml";
+
+    private final Plugin plugin;
+    private final File file;
+
+    public PendingChunkStore(Plugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), FILE_NAME);
+    }
+
+    /**
+     * Reads and removes the stored chunks.
+     *
+     * @return packed chunk keys per world id; empty if nothing was pending
+     */
+    public Map<UUID, LongHashSet> take() {
+        Map<UUID, LongHashSet> pending = new HashMap<>();
+        if (!file.exists()) {
+            return pending;
+        }
+
+        YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
+        for (String worldId : yaml.getKeys(false)) {
+            UUID id;
+            try {
+                id = UUID.fromString(worldId);
+            } catch (IllegalArgumentException ex) {
+                continue;
+            }
+            List<Long> keys = yaml.getLongList(worldId);
+            LongHashSet set = new LongHashSet(keys.size());
+            for (long key : keys) {
+                set.add(key);
+            }
+            pending.put(id, set);
+        }
+
+        if (!file.delete()) {
+            plugin.getLogger().warning("[ChunkFall] Could not delete " + file);
+        }
+        return pending;
+    }
+
+    public void save(Map<UUID, List<Long>> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        YamlConfiguration yaml = new YamlConfiguration();
+        for (Map.Entry<UUID, List<Long>> entry : pending.entrySet()) {
+            yaml.set(entry.getKey().toString(), entry.getValue());
+        }
+        try {
+            yaml.save(file);
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.WARNING, "[ChunkFall] Could not save pending chunks to " + file, ex);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.daytonjwatson.chunkfall.storage;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.logging.Level;
+
+/**
+ * Spawn locations computed on the island of each target world, kept in the plugin data folder
+ * so later starts can set the spawn without loading the island chunk first.
+ *
+ * An entry is only used while the world seed and island chunk still match, so a new seed or
+ * a changed region size recomputes it.
+ */
+public class SpawnStore {
+
+    private static final String FILE_NAME = "spawn.yml";
+
+    private final Plugin plugin;
+    private final File file;
+    private final YamlConfiguration yaml;
+
+    public SpawnStore(Plugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), FILE_NAME);
+        this.yaml = file.exists() ? YamlConfiguration.loadConfiguration(file) : new YamlConfiguration();
+    }
+
+    /**
+     * @param islandChunk packed key of the island chunk the spawn must be on
+     * @return the stored spawn, or null if there is none for this seed and island
+     */
+    public Location load(World world, long islandChunk) {
+        ConfigurationSection section = yaml.getConfigurationSection(world.getName());
+        if (section == null
+                || section.getLong("seed") != world.getSeed()
+                || section.getLong("island-chunk") != islandChunk) {
+            return null;
+        }
+        return new Location(world, section.getDouble("x"), section.getDouble("y"), section.getDouble("z"));
+    }
+
+    public void save(World world, long islandChunk, Location spawn) {
+        ConfigurationSection section = yaml.createSection(world.getName());
+        section.set("seed", world.getSeed());
+        section.set("island-chunk", islandChunk);
+        section.set("x", spawn.getX());
+        section.set("y", spawn.getY());
+        section.set("z", spawn.getZ());
+        try {
+            yaml.save(file);
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.WARNING, "[ChunkFall] Could not save spawn to " + file, ex);
+        }
+    }
+}
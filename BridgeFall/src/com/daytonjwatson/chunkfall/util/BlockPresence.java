@@ -0,0 +1,78 @@
+package com.daytonjwatson.chunkfall.util;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.Ageable;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Directional;
+import org.bukkit.block.data.type.EndPortalFrame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * "Does this chunk contain material X at all?", answered from the section palettes of a snapshot
+ * with {@link ChunkSnapshot#contains(BlockData)} instead of visiting blocks.
+ *
+ * Palettes hold exact block states, so every state of the material is looked up. States are
+ * expanded over age, facing and the portal frame eye; any other property stays at its default,
+ * so only use this for materials whose other properties never change in generated terrain.
+ *
+ * A miss is certain. A hit is not: a palette can still list a state after its last block was
+ * replaced, so callers check the blocks themselves after a hit.
+ */
+public final class BlockPresence {
+
+    private final BlockData[] states;
+
+    private BlockPresence(BlockData[] states) {
+        this.states = states;
+    }
+
+    /**
+     * Main thread only (creates block data); the result is safe to share between threads.
+     */
+    public static BlockPresence of(Material material) {
+        List<BlockData> states = new ArrayList<>();
+        states.add(material.createBlockData());
+
+        BlockData base = states.get(0);
+        if (base instanceof Ageable ageable) {
+            states = expand(states, ageable.getMaximumAge() + 1, (data, age) -> ((Ageable) data).setAge(age));
+        }
+        if (base instanceof Directional directional) {
+            BlockFace[] faces = directional.getFaces().toArray(new BlockFace[0]);
+            states = expand(states, faces.length, (data, i) -> ((Directional) data).setFacing(faces[i]));
+        }
+        if (base instanceof EndPortalFrame) {
+            states = expand(states, 2, (data, eye) -> ((EndPortalFrame) data).setEye(eye == 1));
+        }
+        return new BlockPresence(states.toArray(new BlockData[0]));
+    }
+
+    /**
+     * Safe off the main thread.
+     */
+    public boolean isIn(ChunkSnapshot snapshot) {
+        for (BlockData state : states) {
+            if (snapshot.contains(state)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<BlockData> expand(List<BlockData> states, int values, BiConsumer<BlockData, Integer> apply) {
+        List<BlockData> expanded = new ArrayList<>(states.size() * values);
+        for (BlockData state : states) {
+            for (int value = 0; value < values; value++) {
+                BlockData copy = state.clone();
+                apply.accept(copy, value);
+                expanded.add(copy);
+            }
+        }
+        return expanded;
+    }
+}
@@ -1,18 +1,23 @@
 package com.daytonjwatson.chunkfall.util;
 
-import org.bukkit.World;
-
-import java.util.UUID;
-
 public final class ChunkKeyUtil {
 
     private ChunkKeyUtil() {
     }
 
-    public static long chunkKey(World world, int x, int z) {
-        UUID uuid = world.getUID();
-        long worldBits = uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
-        long chunkBits = (((long) x) << 32) ^ (z & 0xffffffffL);
-        return worldBits ^ chunkBits;
+    /**
+     * Packs chunk coordinates into one long (x in the high half, z in the low half).
+     * Keys are only unique within a world, so keep one key set per world.
+     */
+    public static long chunkKey(int x, int z) {
+        return (((long) x) << 32) | (z & 0xffffffffL);
+    }
+
+    public static int getX(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int getZ(long key) {
+        return (int) key;
     }
 }
@@ -0,0 +1,188 @@
+package com.daytonjwatson.chunkfall.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Open-addressing set of primitive longs (linear probing, backward-shift removal).
+ * Avoids the Long boxing and node objects of a HashSet&lt;Long&gt;. Not thread-safe.
+ *
+ * Long.MIN_VALUE marks empty slots and cannot be stored; packed chunk keys never reach it
+ * because chunk coordinates are bounded by the world border.
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    public LongHashSet() {
+        this(64);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(long value) {
+        int slot = slot(value);
+        while (true) {
+            long current = table[slot];
+            if (current == EMPTY) {
+                return false;
+            }
+            if (current == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @return true if the value was not already present
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            throw new IllegalArgumentException("Long.MIN_VALUE cannot be stored");
+        }
+        int slot = slot(value);
+        while (true) {
+            long current = table[slot];
+            if (current == EMPTY) {
+                table[slot] = value;
+                if (++size >= resizeAt) {
+                    rehash(table.length << 1);
+                }
+                return true;
+            }
+            if (current == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public boolean remove(long value) {
+        int slot = slot(value);
+        while (true) {
+            long current = table[slot];
+            if (current == EMPTY) {
+                return false;
+            }
+            if (current == value) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Removes every value matching the filter and shrinks the table if it is now mostly empty.
+     *
+     * @return the number of removed values
+     */
+    public int removeIf(LongPredicate filter) {
+        long[] old = table;
+        int kept = 0;
+        for (long value : old) {
+            if (value != EMPTY && !filter.test(value)) {
+                old[kept++] = value;
+            }
+        }
+        int removed = size - kept;
+        if (removed == 0) {
+            return 0;
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (kept / LOAD_FACTOR)) - 1) << 1;
+        long[] survivors = Arrays.copyOf(old, kept);
+        allocate(Math.min(capacity, old.length));
+        for (long value : survivors) {
+            insertFresh(value);
+        }
+        size = kept;
+        return removed;
+    }
+
+    public void forEach(LongConsumer action) {
+        for (long value : table) {
+            if (value != EMPTY) {
+                action.accept(value);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        size = 0;
+    }
+
+    private int slot(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        long[] old = table;
+        allocate(capacity);
+        for (long value : old) {
+            if (value != EMPTY) {
+                insertFresh(value);
+            }
+        }
+    }
+
+    private void insertFresh(long value) {
+        int slot = slot(value);
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+    }
+
+    // Linear-probing deletion without tombstones: pull later entries of the cluster back
+    private void shiftBack(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (true) {
+            long value = table[next];
+            if (value == EMPTY) {
+                break;
+            }
+            int home = slot(value);
+            // Move the value into the gap if its home slot is not between gap (exclusive) and next (inclusive)
+            boolean between = gap <= next
+                    ? home > gap && home <= next
+                    : home > gap || home <= next;
+            if (!between) {
+                table[gap] = value;
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[gap] = EMPTY;
+    }
+}
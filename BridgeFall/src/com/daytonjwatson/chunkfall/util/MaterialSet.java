@@ -0,0 +1,42 @@
+package com.daytonjwatson.chunkfall.util;
+
+import org.bukkit.Material;
+
+import java.util.Collection;
+
+/**
+ * Immutable set of materials stored as a bitset over {@link Material#ordinal()}, so a lookup
+ * is one array read. Safe to share between threads.
+ */
+public final class MaterialSet {
+
+    public static final MaterialSet EMPTY = new MaterialSet(new long[0]);
+
+    private final long[] bits;
+
+    private MaterialSet(long[] bits) {
+        this.bits = bits;
+    }
+
+    public static MaterialSet of(Collection<Material> materials) {
+        if (materials.isEmpty()) {
+            return EMPTY;
+        }
+        long[] bits = new long[(Material.values().length + 63) >>> 6];
+        for (Material material : materials) {
+            int ordinal = material.ordinal();
+            bits[ordinal >>> 6] |= 1L << ordinal;
+        }
+        return new MaterialSet(bits);
+    }
+
+    public boolean contains(Material material) {
+        int ordinal = material.ordinal();
+        int word = ordinal >>> 6;
+        return word < bits.length && (bits[word] & (1L << ordinal)) != 0;
+    }
+
+    public boolean isEmpty() {
+        return bits.length == 0;
+    }
+}
@@ -0,0 +1,47 @@
+package com.daytonjwatson.chunkfall.util;
+
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+
+/**
+ * Block positions of one chunk that should be set to air, one bit per block.
+ * Filled off the main thread from a snapshot; {@link #apply(Chunk)} only writes.
+ */
+public final class VoidPlan {
+
+    private final int minY;
+    private final long[] bits;
+    private int count;
+
+    public VoidPlan(int minY, int maxY) {
+        this.minY = minY;
+        this.bits = new long[((maxY - minY) << 8) >> 6];
+    }
+
+    public void mark(int x, int y, int z) {
+        int index = ((y - minY) << 8) | (z << 4) | x;
+        bits[index >>> 6] |= 1L << index;
+        count++;
+    }
+
+    /**
+     * Number of marked blocks. Each block is marked at most once.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Main thread only.
+     */
+    public void apply(Chunk chunk) {
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                int index = (word << 6) | Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                chunk.getBlock(index & 15, (index >>> 8) + minY, (index >>> 4) & 15).setType(Material.AIR, false);
+            }
+        }
+    }
+}